@@ -0,0 +1,171 @@
+package neuronx.linalg;
+
+/**
+ * Blas - Dense kernels on row-major double[] storage.
+ *
+ * gemm and syrk follow the usual packed layout: a KC-deep slice of each operand is copied into
+ * strips of 4 rows (or columns), padded with zeros, so the 4×4 register tile in micro() always
+ * reads both strips sequentially and keeps its 16 sums in registers for the whole slice.
+ * Products only ever accumulate into C (C += ...), so callers can sum several slices or blocks.
+ */
+public final class Blas {
+
+    private static final int TILE = 4;
+    private static final int KC = 256;               // depth of one packed slice
+    private static final int MC = 64;                // rows of A packed at once (gemm)
+    private static final int NC = 512;               // columns of B packed at once (gemm)
+    private static final int PANEL_DOUBLES = 1 << 16; // 512 KB: packed syrk panel kept in cache
+
+    private Blas() {}
+
+    // === C (m×n) += A (m×k) · B (k×n) ===
+    public static void gemm(int m, int n, int k, double[] A, double[] B, double[] C) {
+        double[] aPack = new double[roundUp(Math.min(m, MC)) * Math.min(k, KC)];
+        double[] bPack = new double[roundUp(Math.min(n, NC)) * Math.min(k, KC)];
+        double[] edge = new double[TILE * TILE];
+
+        for (int jc = 0; jc < n; jc += NC) {
+            int nc = Math.min(NC, n - jc);
+            for (int pc = 0; pc < k; pc += KC) {
+                int kc = Math.min(KC, k - pc);
+                packColumns(B, n, pc, kc, jc, nc, bPack);
+                for (int ic = 0; ic < m; ic += MC) {
+                    int mc = Math.min(MC, m - ic);
+                    packRows(A, k, ic, mc, pc, kc, aPack);
+                    for (int jr = 0; jr < nc; jr += TILE) {
+                        for (int ir = 0; ir < mc; ir += TILE) {
+                            micro(kc, aPack, ir * kc, bPack, jr * kc, C, n, ic + ir, jc + jr,
+                                    Math.min(TILE, mc - ir), Math.min(TILE, nc - jr), false, edge);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    // === Upper triangle of C (n×n) += Aᵀ · A for A (k×n); the lower triangle is not touched ===
+    public static void syrk(int k, int n, double[] A, double[] C) {
+        int width = roundUp(n);
+        int depth = Math.max(TILE, Math.min(KC, PANEL_DOUBLES / width));
+        double[] pack = new double[width * Math.min(k, depth)];
+        double[] edge = new double[TILE * TILE];
+
+        for (int pc = 0; pc < k; pc += depth) {
+            int kc = Math.min(depth, k - pc);
+            // Columns of A are both the rows of Aᵀ and the columns of A: one packing serves both sides
+            packColumns(A, n, pc, kc, 0, n, pack);
+            for (int ir = 0; ir < n; ir += TILE) {
+                for (int jr = ir; jr < n; jr += TILE) {
+                    micro(kc, pack, ir * kc, pack, jr * kc, C, n, ir, jr,
+                            Math.min(TILE, n - ir), Math.min(TILE, n - jr), jr == ir, edge);
+                }
+            }
+        }
+    }
+
+    // === y (m) += A (m×n) · x ===
+    public static void gemv(int m, int n, double[] A, double[] x, double[] y) {
+        for (int i = 0; i < m; i++) {
+            int row = i * n;
+            double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+            int j = 0;
+            for (; j + 3 < n; j += 4) {
+                s0 += A[row + j] * x[j];
+                s1 += A[row + j + 1] * x[j + 1];
+                s2 += A[row + j + 2] * x[j + 2];
+                s3 += A[row + j + 3] * x[j + 3];
+            }
+            for (; j < n; j++) s0 += A[row + j] * x[j];
+            y[i] += (s0 + s1) + (s2 + s3);
+        }
+    }
+
+    // === y (n) += Aᵀ · x for A (m×n) ===
+    public static void gemvTransposed(int m, int n, double[] A, double[] x, double[] y) {
+        for (int i = 0; i < m; i++) {
+            double xi = x[i];
+            int row = i * n;
+            for (int j = 0; j < n; j++) y[j] += xi * A[row + j];
+        }
+    }
+
+    // === Copy the upper triangle of C (n×n) into the lower one ===
+    public static void symmetrize(int n, double[] C) {
+        for (int a = 0; a < n; a++)
+            for (int b = a + 1; b < n; b++) C[b * n + a] = C[a * n + b];
+    }
+
+    // Rows [i0, i0 + mc) × columns [p0, p0 + kc) of A (lda = row length) into 4-row strips,
+    // each stored depth-major: strip s, depth p, row r at s * kc + p * 4 + r
+    private static void packRows(double[] A, int lda, int i0, int mc, int p0, int kc, double[] pack) {
+        for (int s = 0; s < mc; s += TILE) {
+            int base = s * kc;
+            for (int r = 0; r < TILE; r++) {
+                if (s + r < mc) {
+                    int src = (i0 + s + r) * lda + p0;
+                    for (int p = 0; p < kc; p++) pack[base + p * TILE + r] = A[src + p];
+                } else {
+                    for (int p = 0; p < kc; p++) pack[base + p * TILE + r] = 0;
+                }
+            }
+        }
+    }
+
+    // Rows [p0, p0 + kc) × columns [j0, j0 + nc) of B (ldb = row length) into 4-column strips
+    private static void packColumns(double[] B, int ldb, int p0, int kc, int j0, int nc, double[] pack) {
+        for (int s = 0; s < nc; s += TILE) {
+            int base = s * kc;
+            int cols = Math.min(TILE, nc - s);
+            for (int p = 0; p < kc; p++) {
+                int src = (p0 + p) * ldb + j0 + s;
+                int dst = base + p * TILE;
+                if (cols == TILE) {
+                    pack[dst] = B[src];
+                    pack[dst + 1] = B[src + 1];
+                    pack[dst + 2] = B[src + 2];
+                    pack[dst + 3] = B[src + 3];
+                } else {
+                    for (int c = 0; c < TILE; c++) pack[dst + c] = c < cols ? B[src + c] : 0;
+                }
+            }
+        }
+    }
+
+    // 4×4 tile of C at (i, j) += strip a · strip b over kc; only rows × cols entries are written,
+    // and with upperOnly only those on or above the diagonal
+    private static void micro(int kc, double[] a, int ao, double[] b, int bo, double[] C, int ldc,
+                              int i, int j, int rows, int cols, boolean upperOnly, double[] edge) {
+        double c00 = 0, c01 = 0, c02 = 0, c03 = 0;
+        double c10 = 0, c11 = 0, c12 = 0, c13 = 0;
+        double c20 = 0, c21 = 0, c22 = 0, c23 = 0;
+        double c30 = 0, c31 = 0, c32 = 0, c33 = 0;
+        for (int p = 0; p < kc; p++) {
+            int ap = ao + p * TILE, bp = bo + p * TILE;
+            double a0 = a[ap], a1 = a[ap + 1], a2 = a[ap + 2], a3 = a[ap + 3];
+            double b0 = b[bp], b1 = b[bp + 1], b2 = b[bp + 2], b3 = b[bp + 3];
+            c00 += a0 * b0; c01 += a0 * b1; c02 += a0 * b2; c03 += a0 * b3;
+            c10 += a1 * b0; c11 += a1 * b1; c12 += a1 * b2; c13 += a1 * b3;
+            c20 += a2 * b0; c21 += a2 * b1; c22 += a2 * b2; c23 += a2 * b3;
+            c30 += a3 * b0; c31 += a3 * b1; c32 += a3 * b2; c33 += a3 * b3;
+        }
+
+        if (rows == TILE && cols == TILE && !upperOnly) {
+            int r0 = i * ldc + j, r1 = r0 + ldc, r2 = r1 + ldc, r3 = r2 + ldc;
+            C[r0] += c00; C[r0 + 1] += c01; C[r0 + 2] += c02; C[r0 + 3] += c03;
+            C[r1] += c10; C[r1 + 1] += c11; C[r1 + 2] += c12; C[r1 + 3] += c13;
+            C[r2] += c20; C[r2 + 1] += c21; C[r2 + 2] += c22; C[r2 + 3] += c23;
+            C[r3] += c30; C[r3 + 1] += c31; C[r3 + 2] += c32; C[r3 + 3] += c33;
+            return;
+        }
+        edge[0] = c00; edge[1] = c01; edge[2] = c02; edge[3] = c03;
+        edge[4] = c10; edge[5] = c11; edge[6] = c12; edge[7] = c13;
+        edge[8] = c20; edge[9] = c21; edge[10] = c22; edge[11] = c23;
+        edge[12] = c30; edge[13] = c31; edge[14] = c32; edge[15] = c33;
+        for (int r = 0; r < rows; r++)
+            for (int c = upperOnly ? r : 0; c < cols; c++) C[(i + r) * ldc + j + c] += edge[r * TILE + c];
+    }
+
+    private static int roundUp(int n) {
+        return (n + TILE - 1) / TILE * TILE;
+    }
+}
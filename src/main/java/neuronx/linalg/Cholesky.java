@@ -0,0 +1,86 @@
+package neuronx.linalg;
+
+import java.util.Arrays;
+
+/**
+ * Cholesky - A = L·Lᵀ for a symmetric positive definite matrix.
+ *
+ * Only the lower triangle (and diagonal) of A is read. The factorization does not throw on an
+ * indefinite matrix: check isPositiveDefinite() (and rcond() for near-singular systems) first.
+ */
+public final class Cholesky {
+
+    private final int n;
+    private final double[] L; // row-major n × n, lower triangle
+    private final boolean positiveDefinite;
+    private final double minDiag, maxDiag;
+
+    public Cholesky(DenseMatrix A) {
+        if (A.rows() != A.cols()) throw new IllegalArgumentException("Cholesky needs a square matrix!");
+        this.n = A.rows();
+        this.L = Arrays.copyOf(A.data(), n * n);
+
+        boolean ok = true;
+        double lo = Double.POSITIVE_INFINITY, hi = 0;
+        for (int j = 0; j < n && ok; j++) {
+            int rj = j * n;
+            double d = L[rj + j];
+            for (int k = 0; k < j; k++) d -= L[rj + k] * L[rj + k];
+            if (!(d > 0)) {
+                ok = false;
+                break;
+            }
+            double ljj = Math.sqrt(d);
+            L[rj + j] = ljj;
+            lo = Math.min(lo, ljj);
+            hi = Math.max(hi, ljj);
+
+            for (int i = j + 1; i < n; i++) {
+                int ri = i * n;
+                double s = L[ri + j];
+                for (int k = 0; k < j; k++) s -= L[ri + k] * L[rj + k];
+                L[ri + j] = s / ljj;
+            }
+        }
+        this.positiveDefinite = ok;
+        this.minDiag = lo;
+        this.maxDiag = hi;
+    }
+
+    public boolean isPositiveDefinite() {
+        return positiveDefinite;
+    }
+
+    // === (min Lii / max Lii)², a cheap estimate of 1 / condition number; 0 when not positive definite ===
+    public double rcond() {
+        if (!positiveDefinite) return 0;
+        double ratio = minDiag / maxDiag;
+        return ratio * ratio;
+    }
+
+    // === x with A x = b: L z = b, then Lᵀ x = z ===
+    public double[] solve(double[] b) {
+        if (!positiveDefinite) throw new IllegalStateException("Matrix is not positive definite!");
+        if (b.length != n) throw new IllegalArgumentException("Vector has " + b.length + " values, expected " + n + "!");
+        double[] x = Arrays.copyOf(b, n);
+        for (int i = 0; i < n; i++) {
+            double s = x[i];
+            for (int k = 0; k < i; k++) s -= L[i * n + k] * x[k];
+            x[i] = s / L[i * n + i];
+        }
+        for (int i = n - 1; i >= 0; i--) {
+            double s = x[i];
+            for (int k = i + 1; k < n; k++) s -= L[k * n + i] * x[k];
+            x[i] = s / L[i * n + i];
+        }
+        return x;
+    }
+
+    // === L with the upper triangle zeroed ===
+    public DenseMatrix getL() {
+        if (!positiveDefinite) throw new IllegalStateException("Matrix is not positive definite!");
+        double[] l = new double[n * n];
+        for (int i = 0; i < n; i++) System.arraycopy(L, i * n, l, i * n, i + 1);
+        return new DenseMatrix(n, n, l);
+    }
+}
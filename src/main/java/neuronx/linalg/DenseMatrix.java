@@ -0,0 +1,124 @@
+package neuronx.linalg;
+
+import java.util.Arrays;
+
+/**
+ * DenseMatrix - rows × cols matrix stored in one contiguous row-major double[].
+ *
+ * Element (i, j) lives at data[i * cols + j]. The array is exposed through data() so kernels
+ * (Blas, LU, Cholesky, QR) and callers can work on it without copying.
+ */
+public final class DenseMatrix {
+
+    private final int rows;
+    private final int cols;
+    private final double[] data;
+
+    public DenseMatrix(int rows, int cols) {
+        this(rows, cols, new double[checkedSize(rows, cols)]);
+    }
+
+    // Wraps data (not copied)
+    public DenseMatrix(int rows, int cols, double[] data) {
+        if (data.length < checkedSize(rows, cols))
+            throw new IllegalArgumentException("Data holds fewer than rows * cols values!");
+        this.rows = rows;
+        this.cols = cols;
+        this.data = data;
+    }
+
+    // === Copy of a jagged array ===
+    public static DenseMatrix of(double[][] A) {
+        if (A.length == 0) throw new IllegalArgumentException("Matrix must have at least one row!");
+        int cols = A[0].length;
+        DenseMatrix m = new DenseMatrix(A.length, cols);
+        for (int i = 0; i < A.length; i++) {
+            if (A[i].length != cols) throw new IllegalArgumentException("All rows must have the same length!");
+            System.arraycopy(A[i], 0, m.data, i * cols, cols);
+        }
+        return m;
+    }
+
+    public static DenseMatrix identity(int n) {
+        DenseMatrix m = new DenseMatrix(n, n);
+        for (int i = 0; i < n; i++) m.data[i * n + i] = 1.0;
+        return m;
+    }
+
+    private static int checkedSize(int rows, int cols) {
+        if (rows <= 0 || cols <= 0) throw new IllegalArgumentException("Matrix dimensions must be positive!");
+        long size = (long) rows * cols;
+        if (size > Integer.MAX_VALUE - 8) throw new IllegalArgumentException("Matrix is too large for one array!");
+        return (int) size;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int cols() {
+        return cols;
+    }
+
+    public double[] data() {
+        return data;
+    }
+
+    public double get(int i, int j) {
+        return data[i * cols + j];
+    }
+
+    public void set(int i, int j, double value) {
+        data[i * cols + j] = value;
+    }
+
+    public DenseMatrix copy() {
+        return new DenseMatrix(rows, cols, Arrays.copyOf(data, rows * cols));
+    }
+
+    public DenseMatrix transpose() {
+        DenseMatrix t = new DenseMatrix(cols, rows);
+        for (int i = 0; i < rows; i++)
+            for (int j = 0; j < cols; j++) t.data[j * rows + i] = data[i * cols + j];
+        return t;
+    }
+
+    // === this · B (blocked GEMM) ===
+    public DenseMatrix multiply(DenseMatrix B) {
+        if (cols != B.rows)
+            throw new IllegalArgumentException("Cannot multiply " + rows + "x" + cols + " by " + B.rows + "x" + B.cols + "!");
+        DenseMatrix C = new DenseMatrix(rows, B.cols);
+        Blas.gemm(rows, B.cols, cols, data, B.data, C.data);
+        return C;
+    }
+
+    // === this · x ===
+    public double[] multiply(double[] x) {
+        if (x.length != cols) throw new IllegalArgumentException("Vector has " + x.length + " values, expected " + cols + "!");
+        double[] y = new double[rows];
+        Blas.gemv(rows, cols, data, x, y);
+        return y;
+    }
+
+    // === thisᵀ · this (SYRK, full symmetric result) ===
+    public DenseMatrix gram() {
+        DenseMatrix G = new DenseMatrix(cols, cols);
+        Blas.syrk(rows, cols, data, G.data);
+        Blas.symmetrize(cols, G.data);
+        return G;
+    }
+
+    public double[][] toArray() {
+        double[][] A = new double[rows][];
+        for (int i = 0; i < rows; i++) A[i] = Arrays.copyOfRange(data, i * cols, (i + 1) * cols);
+        return A;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < rows; i++)
+            sb.append(Arrays.toString(Arrays.copyOfRange(data, i * cols, (i + 1) * cols))).append('\n');
+        return sb.toString();
+    }
+}
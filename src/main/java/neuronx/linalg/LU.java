@@ -0,0 +1,142 @@
+package neuronx.linalg;
+
+import java.util.Arrays;
+
+/**
+ * LU - P·A = L·U with partial (row) pivoting for a square matrix.
+ *
+ * L (unit diagonal) and U share one row-major array. A pivot whose magnitude falls below
+ * n · ulp(max |A|) marks the matrix as singular; solve(), inverse() then refuse instead of
+ * dividing by (almost) zero.
+ */
+public final class LU {
+
+    private final int n;
+    private final double[] lu;
+    private final int[] perm;  // row i of L·U is row perm[i] of A
+    private final int sign;    // +1 / -1: parity of the row swaps
+    private final boolean singular;
+
+    public LU(DenseMatrix A) {
+        if (A.rows() != A.cols()) throw new IllegalArgumentException("LU needs a square matrix!");
+        this.n = A.rows();
+        this.lu = Arrays.copyOf(A.data(), n * n);
+        this.perm = new int[n];
+        for (int i = 0; i < n; i++) perm[i] = i;
+
+        double scale = 0;
+        for (int i = 0; i < n * n; i++) scale = Math.max(scale, Math.abs(lu[i]));
+        double tol = n * Math.ulp(scale);
+
+        int swaps = 0;
+        boolean zeroPivot = scale == 0;
+        for (int k = 0; k < n; k++) {
+            // Largest remaining entry in column k becomes the pivot
+            int best = k;
+            for (int i = k + 1; i < n; i++) if (Math.abs(lu[i * n + k]) > Math.abs(lu[best * n + k])) best = i;
+            if (best != k) {
+                swapRows(k, best);
+                int t = perm[k];
+                perm[k] = perm[best];
+                perm[best] = t;
+                swaps++;
+            }
+            double pivot = lu[k * n + k];
+            if (!(Math.abs(pivot) > tol)) {
+                zeroPivot = true;
+                continue;
+            }
+
+            int rk = k * n;
+            for (int i = k + 1; i < n; i++) {
+                int ri = i * n;
+                double l = lu[ri + k] / pivot;
+                lu[ri + k] = l;
+                if (l == 0) continue;
+                for (int j = k + 1; j < n; j++) lu[ri + j] -= l * lu[rk + j];
+            }
+        }
+        this.sign = (swaps & 1) == 0 ? 1 : -1;
+        this.singular = zeroPivot;
+    }
+
+    public boolean isSingular() {
+        return singular;
+    }
+
+    public double determinant() {
+        if (singular) return 0;
+        double det = sign;
+        for (int i = 0; i < n; i++) det *= lu[i * n + i];
+        return det;
+    }
+
+    // === x with A x = b ===
+    public double[] solve(double[] b) {
+        if (b.length != n) throw new IllegalArgumentException("Vector has " + b.length + " values, expected " + n + "!");
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) x[i] = b[perm[i]];
+        solveInPlace(x);
+        return x;
+    }
+
+    // === X with A X = B ===
+    // Substitution runs on whole rows of X, so every inner loop is a contiguous axpy
+    public DenseMatrix solve(DenseMatrix B) {
+        if (B.rows() != n) throw new IllegalArgumentException("Right-hand side has " + B.rows() + " rows, expected " + n + "!");
+        if (singular) throw new IllegalStateException("Matrix is singular!");
+        int m = B.cols();
+        double[] x = new double[n * m];
+        for (int i = 0; i < n; i++) System.arraycopy(B.data(), perm[i] * m, x, i * m, m);
+
+        for (int i = 0; i < n; i++) {
+            int ri = i * m;
+            for (int k = 0; k < i; k++) {
+                double l = lu[i * n + k];
+                if (l != 0) axpy(-l, x, k * m, ri, m);
+            }
+        }
+        for (int i = n - 1; i >= 0; i--) {
+            int ri = i * m;
+            for (int k = i + 1; k < n; k++) {
+                double u = lu[i * n + k];
+                if (u != 0) axpy(-u, x, k * m, ri, m);
+            }
+            double d = lu[i * n + i];
+            for (int j = 0; j < m; j++) x[ri + j] /= d;
+        }
+        return new DenseMatrix(n, m, x);
+    }
+
+    // x[to ..] += a · x[from ..] over len values
+    private static void axpy(double a, double[] x, int from, int to, int len) {
+        for (int j = 0; j < len; j++) x[to + j] += a * x[from + j];
+    }
+
+    public DenseMatrix inverse() {
+        return solve(DenseMatrix.identity(n));
+    }
+
+    // Forward (unit L) then back (U) substitution
+    private void solveInPlace(double[] x) {
+        if (singular) throw new IllegalStateException("Matrix is singular!");
+        for (int i = 0; i < n; i++) {
+            double s = x[i];
+            for (int k = 0; k < i; k++) s -= lu[i * n + k] * x[k];
+            x[i] = s;
+        }
+        for (int i = n - 1; i >= 0; i--) {
+            double s = x[i];
+            for (int k = i + 1; k < n; k++) s -= lu[i * n + k] * x[k];
+            x[i] = s / lu[i * n + i];
+        }
+    }
+
+    private void swapRows(int a, int b) {
+        for (int j = 0; j < n; j++) {
+            double t = lu[a * n + j];
+            lu[a * n + j] = lu[b * n + j];
+            lu[b * n + j] = t;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package neuronx.linalg;
+
+import java.util.Arrays;
+
+/**
+ * QR - Least squares by Householder QR with column pivoting.
+ *
+ * Columns whose remaining norm falls below a relative tolerance are treated as dependent and
+ * get weight 0, so rank-deficient systems (collinear or constant features) still return a
+ * basic least-squares solution instead of failing.
+ */
+public final class QR {
+
+    private QR() {}
+
+    // === argmin ‖A x - b‖ for A (rows × cols) ===
+    public static double[] leastSquares(DenseMatrix A, double[] b) {
+        return leastSquaresInPlace(A.copy(), b);
+    }
+
+    // === Same, but A is overwritten (saves a copy of a tall matrix) ===
+    public static double[] leastSquaresInPlace(DenseMatrix A, double[] rhs) {
+        int rows = A.rows(), cols = A.cols();
+        if (rhs.length != rows)
+            throw new IllegalArgumentException("Vector has " + rhs.length + " values, expected " + rows + "!");
+        double[] a = A.data();
+        double[] b = Arrays.copyOf(rhs, rows);
+        int[] perm = new int[cols];
+        double[] norms = new double[cols];
+        for (int j = 0; j < cols; j++) perm[j] = j;
+
+        double tol = 0;
+        int rank = 0;
+        int steps = Math.min(rows, cols);
+        for (int k = 0; k < steps; k++) {
+            // Bring the column with the largest remaining norm to position k
+            for (int j = k; j < cols; j++) {
+                double sum = 0;
+                for (int i = k; i < rows; i++) sum += a[i * cols + j] * a[i * cols + j];
+                norms[j] = sum;
+            }
+            int best = k;
+            for (int j = k + 1; j < cols; j++) if (norms[j] > norms[best]) best = j;
+            if (best != k) {
+                for (int i = 0; i < rows; i++) {
+                    double t = a[i * cols + k];
+                    a[i * cols + k] = a[i * cols + best];
+                    a[i * cols + best] = t;
+                }
+                int tp = perm[k];
+                perm[k] = perm[best];
+                perm[best] = tp;
+            }
+
+            double alpha = Math.sqrt(norms[best]);
+            if (k == 0) tol = Math.max(alpha, Double.MIN_NORMAL) * Math.max(rows, cols) * 1e-13;
+            if (alpha <= tol) break;
+            rank++;
+
+            // Reflect column k onto -sign * alpha * e_k
+            if (a[k * cols + k] > 0) alpha = -alpha;
+            double vk = a[k * cols + k] - alpha;
+            a[k * cols + k] = vk;
+            double vNorm = vk * vk;
+            for (int i = k + 1; i < rows; i++) vNorm += a[i * cols + k] * a[i * cols + k];
+
+            for (int j = k + 1; j < cols; j++) {
+                double s = 0;
+                for (int i = k; i < rows; i++) s += a[i * cols + k] * a[i * cols + j];
+                s = 2 * s / vNorm;
+                for (int i = k; i < rows; i++) a[i * cols + j] -= s * a[i * cols + k];
+            }
+            double s = 0;
+            for (int i = k; i < rows; i++) s += a[i * cols + k] * b[i];
+            s = 2 * s / vNorm;
+            for (int i = k; i < rows; i++) b[i] -= s * a[i * cols + k];
+
+            a[k * cols + k] = alpha; // R's diagonal; the reflector below it is no longer needed
+        }
+
+        // Back substitution on the leading rank × rank block of R, then undo the pivoting
+        double[] z = new double[cols];
+        for (int i = rank - 1; i >= 0; i--) {
+            double s = b[i];
+            for (int j = i + 1; j < rank; j++) s -= a[i * cols + j] * z[j];
+            z[i] = s / a[i * cols + i];
+        }
+        double[] x = new double[cols];
+        for (int k = 0; k < cols; k++) x[perm[k]] = z[k];
+        return x;
+    }
+}
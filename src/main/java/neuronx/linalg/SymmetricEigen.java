@@ -0,0 +1,198 @@
+package neuronx.linalg;
+
+import java.util.Arrays;
+
+/**
+ * SymmetricEigen - A = V·diag(λ)·Vᵀ for a symmetric matrix.
+ *
+ * Householder reduction to tridiagonal form followed by the implicit QL algorithm (the classic
+ * tred2 / tql2 pair, as in EISPACK and JAMA), about 9n³ flops. Only the lower triangle of A is
+ * read. Eigenvalues are returned in ascending order, eigenvectors as the matching columns of V.
+ */
+public final class SymmetricEigen {
+
+    private final int n;
+    private final double[] d; // eigenvalues
+    private final double[] e; // off-diagonal work space
+    private final double[] V; // row-major n × n, eigenvectors in columns
+
+    public SymmetricEigen(DenseMatrix A) {
+        if (A.rows() != A.cols()) throw new IllegalArgumentException("Eigen decomposition needs a square matrix!");
+        this.n = A.rows();
+        this.d = new double[n];
+        this.e = new double[n];
+        this.V = Arrays.copyOf(A.data(), n * n);
+        for (int i = 0; i < n; i++)
+            for (int j = i + 1; j < n; j++) V[i * n + j] = V[j * n + i];
+        tridiagonalize();
+        diagonalize();
+        sort();
+    }
+
+    // === Eigenvalues, ascending ===
+    public double[] getEigenvalues() {
+        return d.clone();
+    }
+
+    // === Column k is the unit eigenvector of eigenvalue k ===
+    public DenseMatrix getEigenvectors() {
+        return new DenseMatrix(n, n, V.clone());
+    }
+
+    // Householder reduction: d = diagonal, e = sub-diagonal, V = accumulated transformation
+    private void tridiagonalize() {
+        for (int j = 0; j < n; j++) d[j] = V[(n - 1) * n + j];
+
+        for (int i = n - 1; i > 0; i--) {
+            double scale = 0, h = 0;
+            for (int k = 0; k < i; k++) scale += Math.abs(d[k]);
+            if (scale == 0) {
+                e[i] = d[i - 1];
+                for (int j = 0; j < i; j++) {
+                    d[j] = V[(i - 1) * n + j];
+                    V[i * n + j] = 0;
+                    V[j * n + i] = 0;
+                }
+            } else {
+                // Householder vector of row i, scaled against under/overflow
+                for (int k = 0; k < i; k++) {
+                    d[k] /= scale;
+                    h += d[k] * d[k];
+                }
+                double f = d[i - 1];
+                double g = Math.sqrt(h);
+                if (f > 0) g = -g;
+                e[i] = scale * g;
+                h -= f * g;
+                d[i - 1] = f - g;
+                for (int j = 0; j < i; j++) e[j] = 0;
+
+                for (int j = 0; j < i; j++) {
+                    f = d[j];
+                    V[j * n + i] = f;
+                    g = e[j] + V[j * n + j] * f;
+                    for (int k = j + 1; k <= i - 1; k++) {
+                        g += V[k * n + j] * d[k];
+                        e[k] += V[k * n + j] * f;
+                    }
+                    e[j] = g;
+                }
+                f = 0;
+                for (int j = 0; j < i; j++) {
+                    e[j] /= h;
+                    f += e[j] * d[j];
+                }
+                double hh = f / (h + h);
+                for (int j = 0; j < i; j++) e[j] -= hh * d[j];
+                for (int j = 0; j < i; j++) {
+                    f = d[j];
+                    g = e[j];
+                    for (int k = j; k <= i - 1; k++) V[k * n + j] -= (f * e[k] + g * d[k]);
+                    d[j] = V[(i - 1) * n + j];
+                    V[i * n + j] = 0;
+                }
+            }
+            d[i] = h;
+        }
+
+        // Accumulate the transformations
+        for (int i = 0; i < n - 1; i++) {
+            V[(n - 1) * n + i] = V[i * n + i];
+            V[i * n + i] = 1;
+            double h = d[i + 1];
+            if (h != 0) {
+                for (int k = 0; k <= i; k++) d[k] = V[k * n + i + 1] / h;
+                for (int j = 0; j <= i; j++) {
+                    double g = 0;
+                    for (int k = 0; k <= i; k++) g += V[k * n + i + 1] * V[k * n + j];
+                    for (int k = 0; k <= i; k++) V[k * n + j] -= g * d[k];
+                }
+            }
+            for (int k = 0; k <= i; k++) V[k * n + i + 1] = 0;
+        }
+        for (int j = 0; j < n; j++) {
+            d[j] = V[(n - 1) * n + j];
+            V[(n - 1) * n + j] = 0;
+        }
+        V[(n - 1) * n + n - 1] = 1;
+        e[0] = 0;
+    }
+
+    // Implicit QL iterations on the tridiagonal matrix, rotating V along
+    private void diagonalize() {
+        for (int i = 1; i < n; i++) e[i - 1] = e[i];
+        e[n - 1] = 0;
+
+        double f = 0, tst1 = 0;
+        double eps = Math.ulp(1.0);
+        for (int l = 0; l < n; l++) {
+            // Find a small sub-diagonal element
+            tst1 = Math.max(tst1, Math.abs(d[l]) + Math.abs(e[l]));
+            int m = l;
+            while (m < n - 1 && Math.abs(e[m]) > eps * tst1) m++;
+
+            if (m > l) {
+                do {
+                    // Implicit shift
+                    double g = d[l];
+                    double p = (d[l + 1] - g) / (2 * e[l]);
+                    double r = Math.hypot(p, 1);
+                    if (p < 0) r = -r;
+                    d[l] = e[l] / (p + r);
+                    d[l + 1] = e[l] * (p + r);
+                    double dl1 = d[l + 1];
+                    double h = g - d[l];
+                    for (int i = l + 2; i < n; i++) d[i] -= h;
+                    f += h;
+
+                    p = d[m];
+                    double c = 1, c2 = c, c3 = c;
+                    double el1 = e[l + 1];
+                    double s = 0, s2 = 0;
+                    for (int i = m - 1; i >= l; i--) {
+                        c3 = c2;
+                        c2 = c;
+                        s2 = s;
+                        g = c * e[i];
+                        h = c * p;
+                        r = Math.hypot(p, e[i]);
+                        e[i + 1] = s * r;
+                        s = e[i] / r;
+                        c = p / r;
+                        p = c * d[i] - s * g;
+                        d[i + 1] = h + s * (c * g + s * d[i]);
+                        for (int k = 0; k < n; k++) {
+                            int row = k * n;
+                            h = V[row + i + 1];
+                            V[row + i + 1] = s * V[row + i] + c * h;
+                            V[row + i] = c * V[row + i] - s * h;
+                        }
+                    }
+                    p = -s * s2 * c3 * el1 * e[l] / dl1;
+                    e[l] = s * p;
+                    d[l] = c * p;
+                } while (Math.abs(e[l]) > eps * tst1);
+            }
+            d[l] += f;
+            e[l] = 0;
+        }
+    }
+
+    // Ascending eigenvalues, columns of V moved along
+    private void sort() {
+        for (int i = 0; i < n - 1; i++) {
+            int k = i;
+            for (int j = i + 1; j < n; j++) if (d[j] < d[k]) k = j;
+            if (k == i) continue;
+            double t = d[k];
+            d[k] = d[i];
+            d[i] = t;
+            for (int j = 0; j < n; j++) {
+                int row = j * n;
+                t = V[row + i];
+                V[row + i] = V[row + k];
+                V[row + k] = t;
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package neuronx.neighbors;
+
+/**
+ * BallTree - Nested hyperspheres for exact nearest-neighbor search.
+ * Keeps pruning effective at higher dimensions where KDTree boxes become too loose.
+ */
+public class BallTree extends BinaryTree {
+
+    private double[] centroid; // nNodes * dim
+    private double[] radius;
+
+    public BallTree(double[] data, int n, int dim) {
+        this(data, n, dim, DEFAULT_LEAF_SIZE);
+    }
+
+    public BallTree(double[] data, int n, int dim, int leafSize) {
+        super(data, n, dim, leafSize);
+    }
+
+    @Override
+    void allocateNodeData(int nNodes) {
+        centroid = new double[nNodes * dim];
+        radius = new double[nNodes];
+    }
+
+    @Override
+    void initNode(int node, int start, int end) {
+        int off = node * dim;
+        for (int p = start; p < end; p++) {
+            int row = idx[p] * dim;
+            for (int j = 0; j < dim; j++) centroid[off + j] += data[row + j];
+        }
+        int count = end - start;
+        for (int j = 0; j < dim; j++) centroid[off + j] /= count;
+
+        double maxSq = 0;
+        for (int p = start; p < end; p++) {
+            int row = idx[p] * dim;
+            double sum = 0;
+            for (int j = 0; j < dim; j++) {
+                double diff = data[row + j] - centroid[off + j];
+                sum += diff * diff;
+            }
+            if (sum > maxSq) maxSq = sum;
+        }
+        radius[node] = Math.sqrt(maxSq);
+    }
+
+    @Override
+    double minDistSq(int node, double[] query) {
+        int off = node * dim;
+        double sum = 0;
+        for (int j = 0; j < dim; j++) {
+            double diff = query[j] - centroid[off + j];
+            sum += diff * diff;
+        }
+        double gap = Math.sqrt(sum) - radius[node];
+        return gap > 0 ? gap * gap : 0;
+    }
+}
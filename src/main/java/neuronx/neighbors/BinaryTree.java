@@ -0,0 +1,174 @@
+package neuronx.neighbors;
+
+import java.util.BitSet;
+
+/**
+ * BinaryTree - Shared layout for KDTree and BallTree (same scheme as sklearn's binary trees).
+ *
+ * Rows live in one flat row-major array and are never moved; the tree only permutes
+ * an index array. Nodes are stored heap-style (children of i are 2i+1 and 2i+2) and every
+ * split is at the median of the widest dimension, so the tree is balanced by construction.
+ */
+abstract class BinaryTree implements NeighborIndex, RadiusIndex {
+
+    static final int DEFAULT_LEAF_SIZE = 40;
+
+    final double[] data;   // row-major, n * dim
+    final int n;
+    final int dim;
+    final int[] idx;       // permutation of 0..n-1, each node owns idx[start, end)
+    final int[] nodeStart;
+    final int[] nodeEnd;
+    final int nNodes;
+    final DistanceKernel kernel = DistanceKernel.get();
+
+    BinaryTree(double[] data, int n, int dim, int leafSize) {
+        if (n <= 0 || dim <= 0)
+            throw new IllegalArgumentException("Tree needs at least one row and one feature!");
+        if (data.length < n * dim)
+            throw new IllegalArgumentException("Data holds fewer than n * dim values!");
+        if (leafSize <= 0)
+            throw new IllegalArgumentException("leafSize must be positive!");
+
+        this.data = data;
+        this.n = n;
+        this.dim = dim;
+
+        int levels = 1 + (int) (Math.log(Math.max(1, (n - 1) / leafSize)) / Math.log(2));
+        this.nNodes = (1 << levels) - 1;
+        this.nodeStart = new int[nNodes];
+        this.nodeEnd = new int[nNodes];
+        this.idx = new int[n];
+        for (int i = 0; i < n; i++) idx[i] = i;
+
+        allocateNodeData(nNodes);
+        build(0, 0, n);
+    }
+
+    // === Per-node bookkeeping hooks ===
+    abstract void allocateNodeData(int nNodes);
+
+    abstract void initNode(int node, int start, int end);
+
+    // Lower bound on the squared distance from query to any row under node
+    abstract double minDistSq(int node, double[] query);
+
+    @Override
+    public int size() {
+        return n;
+    }
+
+    @Override
+    public void kneighbors(double[] query, NeighborHeap heap, BitSet excluded) {
+        if (query.length < dim)
+            throw new IllegalArgumentException("Query has " + query.length + " features, expected " + dim);
+        search(0, query, heap, excluded, minDistSq(0, query));
+    }
+
+    private void search(int node, double[] query, NeighborHeap heap, BitSet excluded, double lowerBound) {
+        if (lowerBound > heap.worst()) return;
+
+        int left = 2 * node + 1;
+        if (left >= nNodes) {
+            for (int p = nodeStart[node]; p < nodeEnd[node]; p++) {
+                int row = idx[p];
+                if (excluded != null && excluded.get(row)) continue;
+                heap.offer(squaredDistance(query, row), row);
+            }
+            return;
+        }
+
+        int right = left + 1;
+        double dl = minDistSq(left, query);
+        double dr = minDistSq(right, query);
+        if (dl <= dr) {
+            search(left, query, heap, excluded, dl);
+            search(right, query, heap, excluded, dr);
+        } else {
+            search(right, query, heap, excluded, dr);
+            search(left, query, heap, excluded, dl);
+        }
+    }
+
+    @Override
+    public void radius(double[] query, double radiusSq, IntList out) {
+        if (query.length < dim)
+            throw new IllegalArgumentException("Query has " + query.length + " features, expected " + dim);
+        radius(0, query, radiusSq, out);
+    }
+
+    private void radius(int node, double[] query, double radiusSq, IntList out) {
+        if (minDistSq(node, query) > radiusSq) return;
+
+        int left = 2 * node + 1;
+        if (left >= nNodes) {
+            for (int p = nodeStart[node]; p < nodeEnd[node]; p++) {
+                int row = idx[p];
+                if (squaredDistance(query, row) <= radiusSq) out.add(row);
+            }
+            return;
+        }
+        radius(left, query, radiusSq, out);
+        radius(left + 1, query, radiusSq, out);
+    }
+
+    final double squaredDistance(double[] query, int row) {
+        return kernel.squaredDistance(query, 0, data, row * dim, dim);
+    }
+
+    // === Recursive median split ===
+    private void build(int node, int start, int end) {
+        nodeStart[node] = start;
+        nodeEnd[node] = end;
+        initNode(node, start, end);
+
+        int left = 2 * node + 1;
+        if (left >= nNodes) return;
+
+        int mid = start + (end - start) / 2;
+        select(start, end, mid, widestDimension(start, end));
+        build(left, start, mid);
+        build(left + 1, mid, end);
+    }
+
+    private int widestDimension(int start, int end) {
+        int best = 0;
+        double bestSpread = -1;
+        for (int j = 0; j < dim; j++) {
+            double lo = Double.POSITIVE_INFINITY, hi = Double.NEGATIVE_INFINITY;
+            for (int p = start; p < end; p++) {
+                double v = data[idx[p] * dim + j];
+                if (v < lo) lo = v;
+                if (v > hi) hi = v;
+            }
+            if (hi - lo > bestSpread) {
+                bestSpread = hi - lo;
+                best = j;
+            }
+        }
+        return best;
+    }
+
+    // Quickselect: afterwards idx[start, kth) <= idx[kth] <= idx[kth+1, end) along dimension d
+    private void select(int start, int end, int kth, int d) {
+        int lo = start, hi = end - 1;
+        while (lo < hi) {
+            double pivot = data[idx[(lo + hi) >>> 1] * dim + d];
+            int i = lo, j = hi;
+            while (i <= j) {
+                while (data[idx[i] * dim + d] < pivot) i++;
+                while (data[idx[j] * dim + d] > pivot) j--;
+                if (i <= j) {
+                    int tmp = idx[i];
+                    idx[i] = idx[j];
+                    idx[j] = tmp;
+                    i++;
+                    j--;
+                }
+            }
+            if (kth <= j) hi = j;
+            else if (kth >= i) lo = i;
+            else break;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package neuronx.neighbors;
+
+/**
+ * DistanceKernel - Shared squared-Euclidean distance routines for neighbor search and clustering.
+ *
+ * Everything works in squared space: ranking neighbors or testing dist <= eps never needs the
+ * square root, so callers compare against eps * eps instead.
+ *
+ * Compact storage is covered too: float32 rows, and int8 codes compared against a query that
+ * was mapped into code space (per-dimension weights restore the original scale).
+ *
+ * get() returns a SIMD kernel built on the Java Vector API when the JVM was started with
+ * --add-modules jdk.incubator.vector, and a scalar loop otherwise (or with -Dneuronx.simd=false).
+ */
+public abstract class DistanceKernel {
+
+    private static final DistanceKernel INSTANCE = load();
+
+    public static DistanceKernel get() {
+        return INSTANCE;
+    }
+
+    // === Squared distance between a[aOff, aOff+dim) and b[bOff, bOff+dim) ===
+    public abstract double squaredDistance(double[] a, int aOff, double[] b, int bOff, int dim);
+
+    public final double squaredDistance(double[] a, double[] b) {
+        return squaredDistance(a, 0, b, 0, a.length);
+    }
+
+    // === One query against rows [from, to) of a flat row-major matrix; out[i - from] ===
+    public void squaredDistances(double[] query, double[] rows, int from, int to, int dim, double[] out) {
+        for (int i = from; i < to; i++) out[i - from] = squaredDistance(query, 0, rows, i * dim, dim);
+    }
+
+    // === float32 rows (accumulated in float) ===
+    public abstract double squaredDistance(float[] a, int aOff, float[] b, int bOff, int dim);
+
+    public void squaredDistances(float[] query, float[] rows, int from, int to, int dim, double[] out) {
+        for (int i = from; i < to; i++) out[i - from] = squaredDistance(query, 0, rows, i * dim, dim);
+    }
+
+    // === int8 codes: sum of weight[j] * (query[j] - codes[off + j])^2 ===
+    public double weightedSquaredDistance(float[] query, byte[] codes, int off, float[] weight, int dim) {
+        float sum = 0;
+        for (int j = 0; j < dim; j++) {
+            float diff = query[j] - codes[off + j];
+            sum += weight[j] * diff * diff;
+        }
+        return sum;
+    }
+
+    public void weightedSquaredDistances(float[] query, byte[] codes, int from, int to, float[] weight,
+                                         int dim, double[] out) {
+        for (int i = from; i < to; i++) out[i - from] = weightedSquaredDistance(query, codes, i * dim, weight, dim);
+    }
+
+    public abstract String name();
+
+    private static DistanceKernel load() {
+        if (!Boolean.parseBoolean(System.getProperty("neuronx.simd", "true"))) return new ScalarDistanceKernel();
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) return new ScalarDistanceKernel();
+        try {
+            return (DistanceKernel) Class.forName("neuronx.neighbors.VectorDistanceKernel")
+                    .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return new ScalarDistanceKernel();
+        }
+    }
+}
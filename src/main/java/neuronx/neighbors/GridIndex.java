@@ -0,0 +1,156 @@
+package neuronx.neighbors;
+
+import java.util.Arrays;
+
+/**
+ * GridIndex - Uniform grid for fixed-radius queries in low dimensions.
+ *
+ * Space is cut into cubes of side cellSize and every row is bucketed by the cube it falls in.
+ * With cellSize = radius a query only has to look at its own cell and the 3^dim cells around
+ * it. Cube coordinates are packed into one long key (63 / dim bits per axis), so the grid is
+ * only usable when the data spans fewer than 2^(63 / dim) cells per axis - see fits().
+ */
+public class GridIndex implements RadiusIndex {
+
+    public static final int MAX_DIM = 3; // beyond this 3^dim cells cost more than a tree walk
+
+    private final double[] data; // row-major, n * dim
+    private final int n;
+    private final int dim;
+    private final double cellSize;
+    private final double[] origin;
+    private final int[] maxCell;  // highest occupied cell coordinate per axis
+    private final int bits;
+    private final DistanceKernel kernel = DistanceKernel.get();
+
+    // Cells in CSR form: rows of cell c are points[cellStart[c], cellStart[c + 1]), ascending
+    private final int[] cellStart;
+    private final int[] points;
+
+    // Open-addressing table from packed cell key to cell number
+    private final long[] tableKeys;
+    private final int[] tableCells;
+    private final int tableMask;
+
+    public GridIndex(double[] data, int n, int dim, double cellSize) {
+        if (n <= 0 || dim <= 0)
+            throw new IllegalArgumentException("Grid needs at least one row and one feature!");
+        if (data.length < n * dim)
+            throw new IllegalArgumentException("Data holds fewer than n * dim values!");
+        if (!(cellSize > 0))
+            throw new IllegalArgumentException("Cell size must be positive!");
+        if (!fits(data, n, dim, cellSize))
+            throw new IllegalArgumentException("Data spans too many cells for a grid, use a KDTree!");
+
+        this.data = data;
+        this.n = n;
+        this.dim = dim;
+        this.cellSize = cellSize;
+        this.bits = 63 / dim;
+        this.origin = new double[dim];
+        this.maxCell = new int[dim];
+
+        Arrays.fill(origin, Double.POSITIVE_INFINITY);
+        for (int i = 0; i < n; i++)
+            for (int j = 0; j < dim; j++) origin[j] = Math.min(origin[j], data[i * dim + j]);
+
+        // === Bucket rows by cell key ===
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            long key = 0;
+            for (int j = 0; j < dim; j++) {
+                int c = cell(data[i * dim + j], j);
+                if (c > maxCell[j]) maxCell[j] = c;
+                key |= (long) c << (bits * j);
+            }
+            keys[i] = key;
+        }
+
+        int capacity = Integer.highestOneBit(Math.max(2, n) * 2 - 1) << 1;
+        this.tableKeys = new long[capacity];
+        this.tableCells = new int[capacity];
+        this.tableMask = capacity - 1;
+        Arrays.fill(tableKeys, -1L); // keys are never negative: at most 63 bits are used
+
+        int[] cellOf = new int[n];
+        int[] counts = new int[n + 1];
+        int cells = 0;
+        for (int i = 0; i < n; i++) {
+            int slot = slot(keys[i]);
+            if (tableKeys[slot] < 0) {
+                tableKeys[slot] = keys[i];
+                tableCells[slot] = cells++;
+            }
+            cellOf[i] = tableCells[slot];
+            counts[cellOf[i] + 1]++;
+        }
+
+        this.cellStart = Arrays.copyOf(counts, cells + 1);
+        for (int c = 0; c < cells; c++) cellStart[c + 1] += cellStart[c];
+        this.points = new int[n];
+        int[] fill = Arrays.copyOf(cellStart, cells);
+        for (int i = 0; i < n; i++) points[fill[cellOf[i]]++] = i;
+    }
+
+    // === True if the data spans few enough cells per axis for the packed keys ===
+    public static boolean fits(double[] data, int n, int dim, double cellSize) {
+        if (dim > MAX_DIM) return false;
+        long limit = 1L << (63 / dim);
+        for (int j = 0; j < dim; j++) {
+            double lo = Double.POSITIVE_INFINITY, hi = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < n; i++) {
+                double v = data[i * dim + j];
+                if (!Double.isFinite(v)) return false;
+                lo = Math.min(lo, v);
+                hi = Math.max(hi, v);
+            }
+            if ((hi - lo) / cellSize >= Math.min(limit - 1, Integer.MAX_VALUE - 1)) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return n;
+    }
+
+    @Override
+    public void radius(double[] query, double radiusSq, IntList out) {
+        if (query.length < dim)
+            throw new IllegalArgumentException("Query has " + query.length + " features, expected " + dim);
+        visit(query, radiusSq, Math.sqrt(radiusSq), 0, 0L, out);
+    }
+
+    // Walk the cells overlapping the query's bounding box one axis at a time
+    private void visit(double[] query, double radiusSq, double r, int j, long key, IntList out) {
+        if (j == dim) {
+            int slot = slot(key);
+            if (tableKeys[slot] != key) return;
+            int c = tableCells[slot];
+            for (int p = cellStart[c]; p < cellStart[c + 1]; p++) {
+                int row = points[p];
+                if (kernel.squaredDistance(query, 0, data, row * dim, dim) <= radiusSq) out.add(row);
+            }
+            return;
+        }
+        // Widen the box by a few ulps so rounding can never drop a cell holding a true neighbor
+        double q = query[j];
+        double reach = r + 1e-9 * r + 4 * Math.ulp(Math.abs(q) + r);
+        double from = Math.max(0, Math.floor((q - reach - origin[j]) / cellSize));
+        double to = Math.min(maxCell[j], Math.floor((q + reach - origin[j]) / cellSize));
+        for (long c = (long) from; c <= to; c++)
+            visit(query, radiusSq, r, j + 1, key | (c << (bits * j)), out);
+    }
+
+    private int cell(double v, int j) {
+        return (int) Math.floor((v - origin[j]) / cellSize);
+    }
+
+    // Linear probing; returns the slot holding key, or the empty slot where it would go
+    private int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        int slot = (int) (h ^ (h >>> 32)) & tableMask;
+        while (tableKeys[slot] >= 0 && tableKeys[slot] != key) slot = (slot + 1) & tableMask;
+        return slot;
+    }
+}
@@ -0,0 +1,346 @@
+package neuronx.neighbors;
+
+import java.util.*;
+
+/**
+ * HNSWIndex - Hierarchical Navigable Small World graph (Malkov and Yashunin) for
+ * approximate nearest-neighbor search.
+ *
+ * Each row gets a random top layer; upper layers are sparse "express lanes" walked greedily,
+ * layer 0 holds every row and is searched with a beam of width efSearch.
+ * - M: links per row on upper layers (2M on layer 0)
+ * - efConstruction: beam width while inserting (higher = better graph, slower build)
+ * - efSearch: beam width while querying (higher = better recall, slower queries)
+ */
+public class HNSWIndex implements NeighborIndex {
+
+    public static final int DEFAULT_M = 16;
+    public static final int DEFAULT_EF_CONSTRUCTION = 200;
+    public static final int DEFAULT_EF_SEARCH = 50;
+
+    private final double[] data; // row-major, n * dim
+    private final int n;
+    private final int dim;
+    private final int M;
+    private final int maxM0;
+    private final int efConstruction;
+    private final DistanceKernel kernel = DistanceKernel.get();
+    private volatile int efSearch;
+
+    private final int[] level;         // top layer of each row
+    private final int[] links0;        // layer 0: per row [count, n1, ..., n_maxM0]
+    private final int[][] upperLinks;  // layers 1..level[i]: per row, (M + 1) ints per layer
+    private int entryPoint = -1;
+    private int topLevel = -1;
+
+    // Per-thread search buffers so queries do not allocate
+    private final ThreadLocal<SearchScratch> scratch;
+
+    private static class SearchScratch {
+        final int[] visited;   // visited[i] == mark means row i was seen in the current search
+        int mark = 0;
+        final CandidateQueue candidates = new CandidateQueue(64);
+        NeighborHeap results;
+
+        SearchScratch(int n) {
+            visited = new int[n];
+        }
+
+        NeighborHeap results(int ef) {
+            if (results == null || results.capacity() != ef) results = new NeighborHeap(ef);
+            results.clear();
+            return results;
+        }
+
+        void nextSearch() {
+            if (++mark == Integer.MAX_VALUE) {
+                Arrays.fill(visited, 0);
+                mark = 1;
+            }
+        }
+    }
+
+    public HNSWIndex(double[] data, int n, int dim) {
+        this(data, n, dim, DEFAULT_M, DEFAULT_EF_CONSTRUCTION, DEFAULT_EF_SEARCH, 42L);
+    }
+
+    public HNSWIndex(double[] data, int n, int dim, int M, int efConstruction, int efSearch, long seed) {
+        if (n <= 0 || dim <= 0)
+            throw new IllegalArgumentException("HNSW needs at least one row and one feature!");
+        if (data.length < n * dim)
+            throw new IllegalArgumentException("Data holds fewer than n * dim values!");
+        if (M < 2 || efConstruction <= 0 || efSearch <= 0)
+            throw new IllegalArgumentException("HNSW needs M >= 2 and positive ef values!");
+
+        this.data = data;
+        this.n = n;
+        this.dim = dim;
+        this.M = M;
+        this.maxM0 = 2 * M;
+        this.efConstruction = Math.max(efConstruction, M);
+        this.efSearch = efSearch;
+
+        this.level = new int[n];
+        this.links0 = new int[n * (maxM0 + 1)];
+        this.upperLinks = new int[n][];
+        this.scratch = ThreadLocal.withInitial(() -> new SearchScratch(n));
+
+        Random random = new Random(seed);
+        double mL = 1.0 / Math.log(M);
+        for (int i = 0; i < n; i++) {
+            level[i] = (int) (-Math.log(1.0 - random.nextDouble()) * mL);
+            if (level[i] > 0) upperLinks[i] = new int[level[i] * (M + 1)];
+            insert(i);
+        }
+    }
+
+    // === Query-time beam width (can be changed after build) ===
+    public void setEfSearch(int efSearch) {
+        if (efSearch <= 0) throw new IllegalArgumentException("efSearch must be positive!");
+        this.efSearch = efSearch;
+    }
+
+    public int getEfSearch() {
+        return efSearch;
+    }
+
+    @Override
+    public int size() {
+        return n;
+    }
+
+    @Override
+    public void kneighbors(double[] query, NeighborHeap heap, BitSet excluded) {
+        if (query.length < dim)
+            throw new IllegalArgumentException("Query has " + query.length + " features, expected " + dim);
+
+        SearchScratch s = scratch.get();
+        int ep = greedyDescent(query, entryPoint, topLevel, 0);
+        NeighborHeap found = searchLayer(query, ep, Math.max(efSearch, heap.capacity()), 0, excluded, s);
+        for (int i = 0; i < found.size(); i++) heap.offer(found.distance(i), found.index(i));
+    }
+
+    // === Insertion (Algorithm 1 of the paper) ===
+    private void insert(int row) {
+        if (entryPoint < 0) {
+            entryPoint = row;
+            topLevel = level[row];
+            return;
+        }
+
+        double[] q = rowCopy(row);
+        int ep = greedyDescent(q, entryPoint, topLevel, level[row]);
+        SearchScratch s = scratch.get();
+
+        for (int lc = Math.min(level[row], topLevel); lc >= 0; lc--) {
+            NeighborHeap found = searchLayer(q, ep, efConstruction, lc, null, s);
+            int[] order = sortedRows(found);
+            ep = order[0];
+
+            int maxLinks = lc == 0 ? maxM0 : M;
+            int[] chosen = selectNeighbors(row, order, order.length, M);
+            setLinks(row, lc, chosen, chosen.length);
+
+            for (int nb : chosen) addLink(nb, row, lc, maxLinks);
+        }
+
+        if (level[row] > topLevel) {
+            topLevel = level[row];
+            entryPoint = row;
+        }
+    }
+
+    private void addLink(int from, int to, int lc, int maxLinks) {
+        int[] links = lc == 0 ? links0 : upperLinks[from];
+        int off = offset(from, lc);
+        int count = links[off];
+        if (count < maxLinks) {
+            links[off + 1 + count] = to;
+            links[off] = count + 1;
+            return;
+        }
+
+        // Full: re-run the selection heuristic over the old links plus the new one
+        int[] candidates = new int[count + 1];
+        System.arraycopy(links, off + 1, candidates, 0, count);
+        candidates[count] = to;
+        sortByDistance(from, candidates);
+        int[] kept = selectNeighbors(from, candidates, candidates.length, maxLinks);
+        setLinks(from, lc, kept, kept.length);
+    }
+
+    // Heuristic selection: keep a candidate only if it is closer to the base row than to any
+    // neighbor already kept, which spreads links in different directions (Algorithm 4)
+    private int[] selectNeighbors(int base, int[] sortedCandidates, int count, int max) {
+        int[] kept = new int[Math.min(max, count)];
+        int size = 0;
+        for (int c = 0; c < count && size < kept.length; c++) {
+            int cand = sortedCandidates[c];
+            if (cand == base) continue;
+            double toBase = rowDistance(base, cand);
+            boolean good = true;
+            for (int s = 0; s < size; s++) {
+                if (rowDistance(kept[s], cand) < toBase) {
+                    good = false;
+                    break;
+                }
+            }
+            if (good) kept[size++] = cand;
+        }
+        return size == kept.length ? kept : Arrays.copyOf(kept, size);
+    }
+
+    private void setLinks(int row, int lc, int[] nbs, int count) {
+        int[] links = lc == 0 ? links0 : upperLinks[row];
+        int off = offset(row, lc);
+        links[off] = count;
+        System.arraycopy(nbs, 0, links, off + 1, count);
+    }
+
+    private int offset(int row, int lc) {
+        return lc == 0 ? row * (maxM0 + 1) : (lc - 1) * (M + 1);
+    }
+
+    // === Greedy walk from layer `from` down to (but not into) layer `to` ===
+    private int greedyDescent(double[] q, int ep, int from, int to) {
+        double best = distance(q, ep);
+        for (int lc = from; lc > to; lc--) {
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                int[] links = upperLinks[ep];
+                int off = offset(ep, lc);
+                for (int p = 1; p <= links[off]; p++) {
+                    int cand = links[off + p];
+                    double d = distance(q, cand);
+                    if (d < best) {
+                        best = d;
+                        ep = cand;
+                        changed = true;
+                    }
+                }
+            }
+        }
+        return ep;
+    }
+
+    // === Beam search on one layer (Algorithm 2); returns the ef closest rows found ===
+    // Excluded rows are still walked through (they keep the graph connected) but never returned
+    private NeighborHeap searchLayer(double[] q, int ep, int ef, int lc, BitSet excluded, SearchScratch s) {
+        s.nextSearch();
+        NeighborHeap results = s.results(ef);
+        CandidateQueue candidates = s.candidates;
+        candidates.clear();
+
+        double d0 = distance(q, ep);
+        s.visited[ep] = s.mark;
+        candidates.push(d0, ep);
+        if (excluded == null || !excluded.get(ep)) results.offer(d0, ep);
+
+        while (!candidates.isEmpty()) {
+            if (candidates.peekDistance() > results.worst()) break;
+            int current = candidates.pop();
+
+            int[] links = lc == 0 ? links0 : upperLinks[current];
+            int off = offset(current, lc);
+            for (int p = 1; p <= links[off]; p++) {
+                int nb = links[off + p];
+                if (s.visited[nb] == s.mark) continue;
+                s.visited[nb] = s.mark;
+
+                double d = distance(q, nb);
+                if (d < results.worst()) {
+                    candidates.push(d, nb);
+                    if (excluded == null || !excluded.get(nb)) results.offer(d, nb);
+                }
+            }
+        }
+        return results;
+    }
+
+    private int[] sortedRows(NeighborHeap found) {
+        found.sort();
+        int[] rows = new int[found.size()];
+        for (int i = 0; i < rows.length; i++) rows[i] = found.index(i);
+        return rows;
+    }
+
+    private void sortByDistance(int base, int[] rows) {
+        NeighborHeap heap = new NeighborHeap(rows.length);
+        for (int i = 0; i < rows.length; i++) heap.offer(rowDistance(base, rows[i]), rows[i]);
+        heap.sort();
+        for (int i = 0; i < rows.length; i++) rows[i] = heap.index(i);
+    }
+
+    private double[] rowCopy(int row) {
+        return Arrays.copyOfRange(data, row * dim, row * dim + dim);
+    }
+
+    private double distance(double[] q, int row) {
+        return kernel.squaredDistance(q, 0, data, row * dim, dim);
+    }
+
+    private double rowDistance(int a, int b) {
+        return kernel.squaredDistance(data, a * dim, data, b * dim, dim);
+    }
+
+    // === Growable min-heap of (distance, row) used as the search frontier ===
+    private static final class CandidateQueue {
+        private double[] dist;
+        private int[] idx;
+        private int size;
+
+        CandidateQueue(int capacity) {
+            dist = new double[capacity];
+            idx = new int[capacity];
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        double peekDistance() {
+            return dist[0];
+        }
+
+        void push(double d, int i) {
+            if (size == dist.length) {
+                dist = Arrays.copyOf(dist, size * 2);
+                idx = Arrays.copyOf(idx, size * 2);
+            }
+            int pos = size++;
+            while (pos > 0) {
+                int parent = (pos - 1) >>> 1;
+                if (dist[parent] <= d) break;
+                dist[pos] = dist[parent];
+                idx[pos] = idx[parent];
+                pos = parent;
+            }
+            dist[pos] = d;
+            idx[pos] = i;
+        }
+
+        int pop() {
+            int top = idx[0];
+            double d = dist[--size];
+            int i = idx[size];
+            int pos = 0;
+            while (true) {
+                int child = 2 * pos + 1;
+                if (child >= size) break;
+                if (child + 1 < size && dist[child + 1] < dist[child]) child++;
+                if (dist[child] >= d) break;
+                dist[pos] = dist[child];
+                idx[pos] = idx[child];
+                pos = child;
+            }
+            dist[pos] = d;
+            idx[pos] = i;
+            return top;
+        }
+    }
+}
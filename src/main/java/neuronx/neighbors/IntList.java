@@ -0,0 +1,78 @@
+package neuronx.neighbors;
+
+import java.util.Arrays;
+
+/**
+ * IntList - Growable int array without boxing; meant to be cleared and reused.
+ */
+public final class IntList {
+
+    private int[] values;
+    private int size;
+
+    public IntList() {
+        this(16);
+    }
+
+    public IntList(int capacity) {
+        values = new int[Math.max(1, capacity)];
+    }
+
+    public void add(int v) {
+        if (size == values.length) values = Arrays.copyOf(values, size * 2);
+        values[size++] = v;
+    }
+
+    public int get(int i) {
+        return values[i];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void set(int i, int v) {
+        values[i] = v;
+    }
+
+    // === Remove the element at position i, shifting the tail left (keeps order) ===
+    public int removeAt(int i) {
+        int v = values[i];
+        System.arraycopy(values, i + 1, values, i, size - i - 1);
+        size--;
+        return v;
+    }
+
+    // === Remove one occurrence of v by moving the last element into its place (order not kept) ===
+    public boolean removeValue(int v) {
+        for (int i = 0; i < size; i++) {
+            if (values[i] == v) {
+                values[i] = values[--size];
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // === Drop everything from position size on ===
+    public void truncate(int size) {
+        if (size < 0 || size > this.size) throw new IllegalArgumentException("Invalid size!");
+        this.size = size;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public void sort() {
+        Arrays.sort(values, 0, size);
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+}
@@ -0,0 +1,55 @@
+package neuronx.neighbors;
+
+/**
+ * KDTree - Axis-aligned space partitioning for exact nearest-neighbor search.
+ * Best for low-dimensional data (roughly up to 15 features); pruning weakens as dimension grows.
+ */
+public class KDTree extends BinaryTree {
+
+    private double[] lower; // per-node bounding box, nNodes * dim
+    private double[] upper;
+
+    public KDTree(double[] data, int n, int dim) {
+        this(data, n, dim, DEFAULT_LEAF_SIZE);
+    }
+
+    public KDTree(double[] data, int n, int dim, int leafSize) {
+        super(data, n, dim, leafSize);
+    }
+
+    @Override
+    void allocateNodeData(int nNodes) {
+        lower = new double[nNodes * dim];
+        upper = new double[nNodes * dim];
+    }
+
+    @Override
+    void initNode(int node, int start, int end) {
+        int off = node * dim;
+        for (int j = 0; j < dim; j++) {
+            lower[off + j] = Double.POSITIVE_INFINITY;
+            upper[off + j] = Double.NEGATIVE_INFINITY;
+        }
+        for (int p = start; p < end; p++) {
+            int row = idx[p] * dim;
+            for (int j = 0; j < dim; j++) {
+                double v = data[row + j];
+                if (v < lower[off + j]) lower[off + j] = v;
+                if (v > upper[off + j]) upper[off + j] = v;
+            }
+        }
+    }
+
+    @Override
+    double minDistSq(int node, double[] query) {
+        double sum = 0;
+        int off = node * dim;
+        for (int j = 0; j < dim; j++) {
+            double q = query[j];
+            double gap = lower[off + j] - q;
+            if (gap < 0) gap = q - upper[off + j];
+            if (gap > 0) sum += gap * gap;
+        }
+        return sum;
+    }
+}
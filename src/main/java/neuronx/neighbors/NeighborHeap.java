@@ -0,0 +1,91 @@
+package neuronx.neighbors;
+
+/**
+ * NeighborHeap - Bounded max-heap of (distance, index) pairs.
+ * Keeps the k closest candidates seen so far; the root is always the current worst.
+ * Backed by primitive arrays so it can be reused across queries.
+ */
+public final class NeighborHeap {
+
+    private final double[] dist;
+    private final int[] idx;
+    private int size;
+
+    public NeighborHeap(int capacity) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Heap capacity must be positive!");
+        this.dist = new double[capacity];
+        this.idx = new int[capacity];
+    }
+
+    // === Reset for the next query ===
+    public void clear() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return dist.length;
+    }
+
+    // === Distance a candidate has to beat (infinite until the heap is full) ===
+    public double worst() {
+        return size < dist.length ? Double.POSITIVE_INFINITY : dist[0];
+    }
+
+    // === Offer a candidate; returns true if it was kept ===
+    public boolean offer(double d, int i) {
+        if (size < dist.length) {
+            int pos = size++;
+            while (pos > 0) {
+                int parent = (pos - 1) >>> 1;
+                if (dist[parent] >= d) break;
+                dist[pos] = dist[parent];
+                idx[pos] = idx[parent];
+                pos = parent;
+            }
+            dist[pos] = d;
+            idx[pos] = i;
+            return true;
+        }
+        if (d >= dist[0]) return false;
+        siftDown(0, d, i, size);
+        return true;
+    }
+
+    public double distance(int pos) {
+        return dist[pos];
+    }
+
+    public int index(int pos) {
+        return idx[pos];
+    }
+
+    // === Sort contents by ascending distance (heap order is lost until clear()) ===
+    public void sort() {
+        for (int end = size - 1; end > 0; end--) {
+            double d = dist[end];
+            int i = idx[end];
+            dist[end] = dist[0];
+            idx[end] = idx[0];
+            siftDown(0, d, i, end);
+        }
+    }
+
+    private void siftDown(int pos, double d, int i, int n) {
+        while (true) {
+            int child = 2 * pos + 1;
+            if (child >= n) break;
+            if (child + 1 < n && dist[child + 1] > dist[child]) child++;
+            if (dist[child] <= d) break;
+            dist[pos] = dist[child];
+            idx[pos] = idx[child];
+            pos = child;
+        }
+        dist[pos] = d;
+        idx[pos] = i;
+    }
+}
@@ -0,0 +1,22 @@
+package neuronx.neighbors;
+
+import java.util.BitSet;
+
+/**
+ * NeighborIndex - k-nearest-neighbor search structure built once over a fixed reference set.
+ * KDTree and BallTree are exact; HNSWIndex is approximate.
+ * Rows are addressed by their position in the data the index was built from.
+ */
+public interface NeighborIndex {
+
+    // === Fill heap with the heap.capacity() nearest rows (squared Euclidean distances) ===
+    default void kneighbors(double[] query, NeighborHeap heap) {
+        kneighbors(query, heap, null);
+    }
+
+    // === Same, skipping rows whose bit is set in excluded (null = none) ===
+    void kneighbors(double[] query, NeighborHeap heap, BitSet excluded);
+
+    // === Number of indexed rows ===
+    int size();
+}
@@ -0,0 +1,13 @@
+package neuronx.neighbors;
+
+/**
+ * RadiusIndex - Fixed-radius neighbor search (the eps-neighborhood query behind DBSCAN).
+ */
+public interface RadiusIndex {
+
+    // === Append to out every row within squared distance radiusSq of query (any order) ===
+    void radius(double[] query, double radiusSq, IntList out);
+
+    // === Number of indexed rows ===
+    int size();
+}
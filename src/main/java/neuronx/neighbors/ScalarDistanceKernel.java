@@ -0,0 +1,32 @@
+package neuronx.neighbors;
+
+/**
+ * ScalarDistanceKernel - Plain loop fallback, used when the Vector API is unavailable.
+ */
+final class ScalarDistanceKernel extends DistanceKernel {
+
+    @Override
+    public double squaredDistance(double[] a, int aOff, double[] b, int bOff, int dim) {
+        double sum = 0;
+        for (int j = 0; j < dim; j++) {
+            double diff = a[aOff + j] - b[bOff + j];
+            sum += diff * diff;
+        }
+        return sum;
+    }
+
+    @Override
+    public double squaredDistance(float[] a, int aOff, float[] b, int bOff, int dim) {
+        float sum = 0;
+        for (int j = 0; j < dim; j++) {
+            float diff = a[aOff + j] - b[bOff + j];
+            sum += diff * diff;
+        }
+        return sum;
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
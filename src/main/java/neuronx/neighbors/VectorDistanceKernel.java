@@ -0,0 +1,90 @@
+package neuronx.neighbors;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * VectorDistanceKernel - SIMD kernel on jdk.incubator.vector.
+ * Only loaded reflectively by DistanceKernel.get() once the module is known to be present.
+ */
+final class VectorDistanceKernel extends DistanceKernel {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Float> FLOATS = FloatVector.SPECIES_PREFERRED;
+    // Bytes loaded per step so that widening them to float fills exactly one FLOATS vector
+    private static final VectorSpecies<Byte> BYTES =
+            VectorSpecies.of(byte.class, VectorShape.forBitSize(FLOATS.length() * Byte.SIZE));
+
+    @Override
+    public double squaredDistance(double[] a, int aOff, double[] b, int bOff, int dim) {
+        int j = 0;
+        double sum = 0;
+        int bound = SPECIES.loopBound(dim);
+        if (bound > 0) {
+            DoubleVector acc = DoubleVector.zero(SPECIES);
+            for (; j < bound; j += SPECIES.length()) {
+                DoubleVector diff = DoubleVector.fromArray(SPECIES, a, aOff + j)
+                        .sub(DoubleVector.fromArray(SPECIES, b, bOff + j));
+                acc = diff.fma(diff, acc);
+            }
+            sum = acc.reduceLanes(VectorOperators.ADD);
+        }
+        for (; j < dim; j++) {
+            double diff = a[aOff + j] - b[bOff + j];
+            sum += diff * diff;
+        }
+        return sum;
+    }
+
+    @Override
+    public double squaredDistance(float[] a, int aOff, float[] b, int bOff, int dim) {
+        int j = 0;
+        float sum = 0;
+        int bound = FLOATS.loopBound(dim);
+        if (bound > 0) {
+            FloatVector acc = FloatVector.zero(FLOATS);
+            for (; j < bound; j += FLOATS.length()) {
+                FloatVector diff = FloatVector.fromArray(FLOATS, a, aOff + j)
+                        .sub(FloatVector.fromArray(FLOATS, b, bOff + j));
+                acc = diff.fma(diff, acc);
+            }
+            sum = acc.reduceLanes(VectorOperators.ADD);
+        }
+        for (; j < dim; j++) {
+            float diff = a[aOff + j] - b[bOff + j];
+            sum += diff * diff;
+        }
+        return sum;
+    }
+
+    @Override
+    public double weightedSquaredDistance(float[] query, byte[] codes, int off, float[] weight, int dim) {
+        int j = 0;
+        float sum = 0;
+        int bound = FLOATS.loopBound(dim);
+        if (bound > 0) {
+            FloatVector acc = FloatVector.zero(FLOATS);
+            for (; j < bound; j += FLOATS.length()) {
+                FloatVector c = (FloatVector) ByteVector.fromArray(BYTES, codes, off + j)
+                        .convertShape(VectorOperators.B2F, FLOATS, 0);
+                FloatVector diff = FloatVector.fromArray(FLOATS, query, j).sub(c);
+                acc = diff.mul(diff).fma(FloatVector.fromArray(FLOATS, weight, j), acc);
+            }
+            sum = acc.reduceLanes(VectorOperators.ADD);
+        }
+        for (; j < dim; j++) {
+            float diff = query[j] - codes[off + j];
+            sum += weight[j] * diff * diff;
+        }
+        return sum;
+    }
+
+    @Override
+    public String name() {
+        return "vector-" + SPECIES.length() + "x64";
+    }
+}
@@ -0,0 +1,264 @@
+package neuronx.supervised.classification;
+
+import java.util.Arrays;
+import neuronx.neighbors.DistanceKernel;
+
+/**
+ * FeatureStore - Contiguous row-major storage for one KNNSegment's reference rows.
+ *
+ * - Float64: plain double[] (exact)
+ * - Float32: float[] at half the memory; distances computed in float
+ * - Int8: one byte per feature with a per-dimension offset and scale (1/8 of the memory);
+ *   the query is mapped into code space once and compared against the codes directly
+ *
+ * A store is allocated empty, filled row by row while its segment is built (set / copy), and
+ * never written again once the segment is published.
+ */
+abstract class FeatureStore {
+
+    static final DistanceKernel KERNEL = DistanceKernel.get();
+
+    final int size;
+    final int dim;
+
+    FeatureStore(int size, int dim) {
+        this.size = size;
+        this.dim = dim;
+    }
+
+    // === Empty store for size rows; quantizer is only used by INT8 ===
+    static FeatureStore allocate(KNNClassifier.Storage storage, int size, int dim, Quantizer quantizer) {
+        switch (storage) {
+            case FLOAT32: return new Float32(size, dim);
+            case INT8: return new Int8(size, dim, quantizer);
+            default: return new Float64(size, dim);
+        }
+    }
+
+    // === Approximate squared distances from x to rows [from, to); query is a scratch buffer ===
+    abstract void distances(double[] x, float[] query, int from, int to, double[] out);
+
+    // === Stored value (decoded) ===
+    abstract double get(int row, int j);
+
+    // === Store v as feature j of row (only while the segment is being built) ===
+    abstract void set(int row, int j, double v);
+
+    // === Row srcRow of src into row, as directly as the two formats allow ===
+    void copy(int row, KNNSegment src, int srcRow) {
+        for (int j = 0; j < dim; j++) set(row, j, src.get(srcRow, j));
+    }
+
+    abstract long bytes();
+
+    // Full-precision rows when this store keeps them, otherwise null
+    double[] exactRows() {
+        return null;
+    }
+
+    // === float64: the reference layout, used by the neighbor indexes ===
+    static final class Float64 extends FeatureStore {
+        final double[] rows;
+
+        Float64(int size, int dim) {
+            super(size, dim);
+            this.rows = new double[Math.multiplyExact(size, dim)];
+        }
+
+        @Override
+        void distances(double[] x, float[] query, int from, int to, double[] out) {
+            KERNEL.squaredDistances(x, rows, from, to, dim, out);
+        }
+
+        @Override
+        double get(int row, int j) {
+            return rows[row * dim + j];
+        }
+
+        @Override
+        void set(int row, int j, double v) {
+            rows[row * dim + j] = v;
+        }
+
+        @Override
+        long bytes() {
+            return 8L * size * dim;
+        }
+
+        @Override
+        double[] exactRows() {
+            return rows;
+        }
+    }
+
+    // === float32 ===
+    static final class Float32 extends FeatureStore {
+        final float[] rows;
+
+        Float32(int size, int dim) {
+            super(size, dim);
+            this.rows = new float[Math.multiplyExact(size, dim)];
+        }
+
+        @Override
+        void distances(double[] x, float[] query, int from, int to, double[] out) {
+            for (int j = 0; j < dim; j++) query[j] = (float) x[j];
+            KERNEL.squaredDistances(query, rows, from, to, dim, out);
+        }
+
+        @Override
+        double get(int row, int j) {
+            return rows[row * dim + j];
+        }
+
+        @Override
+        void set(int row, int j, double v) {
+            rows[row * dim + j] = (float) v;
+        }
+
+        @Override
+        void copy(int row, KNNSegment src, int srcRow) {
+            if (src.store instanceof Float32) { // same floats as rounding the exact row again
+                System.arraycopy(((Float32) src.store).rows, srcRow * dim, rows, row * dim, dim);
+            } else {
+                super.copy(row, src, srcRow);
+            }
+        }
+
+        @Override
+        long bytes() {
+            return 4L * size * dim;
+        }
+    }
+
+    // === int8 scalar quantization: value = offset[j] + code * scale[j], code in [-127, 127] ===
+    static final class Int8 extends FeatureStore {
+        final byte[] codes;
+        final Quantizer quantizer;
+
+        Int8(int size, int dim, Quantizer quantizer) {
+            super(size, dim);
+            this.codes = new byte[Math.multiplyExact(size, dim)];
+            this.quantizer = quantizer;
+        }
+
+        @Override
+        void distances(double[] x, float[] query, int from, int to, double[] out) {
+            double[] offset = quantizer.offset, scale = quantizer.scale;
+            for (int j = 0; j < dim; j++) query[j] = (float) ((x[j] - offset[j]) / scale[j]);
+            KERNEL.weightedSquaredDistances(query, codes, from, to, quantizer.weight, dim, out);
+        }
+
+        @Override
+        double get(int row, int j) {
+            return quantizer.offset[j] + codes[row * dim + j] * quantizer.scale[j];
+        }
+
+        @Override
+        void set(int row, int j, double v) {
+            codes[row * dim + j] = quantizer.encode(v, j);
+        }
+
+        // Codes are copied verbatim under an unchanged scale; exact rows are re-encoded when the
+        // scale has grown, and only without them are codes rescaled (one rounding per growth)
+        @Override
+        void copy(int row, KNNSegment src, int srcRow) {
+            if (src.store instanceof Int8) {
+                Int8 from = (Int8) src.store;
+                int off = row * dim, srcOff = srcRow * dim;
+                if (quantizer.sameCodes(from.quantizer)) {
+                    System.arraycopy(from.codes, srcOff, codes, off, dim);
+                    return;
+                }
+                if (src.exact == null && from.quantizer.offset == quantizer.offset) {
+                    for (int j = 0; j < dim; j++)
+                        codes[off + j] = Quantizer.clamp(Math.round(from.codes[srcOff + j] * (from.quantizer.scale[j] / quantizer.scale[j])));
+                    return;
+                }
+            }
+            super.copy(row, src, srcRow);
+        }
+
+        @Override
+        long bytes() {
+            return (long) size * dim + 20L * dim;
+        }
+    }
+
+    // === int8 code space shared by every INT8 segment of a model, so merges can copy codes ===
+    // The offset is fixed by the first batch. A scale only ever doubles (old codes stay valid up to
+    // one rounding); a column that has held a single value so far has no real scale yet (all its
+    // codes are 0) and takes one as soon as it spreads.
+    static final class Quantizer {
+        final double[] offset;
+        final double[] scale;
+        final float[] weight; // scale^2, turns code-space distance back into feature space
+        private final boolean[] spread;
+
+        private Quantizer(double[] offset, double[] scale, boolean[] spread) {
+            this.offset = offset;
+            this.scale = scale;
+            this.spread = spread;
+            this.weight = new float[scale.length];
+            for (int j = 0; j < scale.length; j++) weight[j] = (float) (scale[j] * scale[j]);
+        }
+
+        // === Codes spanning [lo[j], hi[j]] per dimension ===
+        static Quantizer of(double[] lo, double[] hi) {
+            checkFinite(lo, hi);
+            int dim = lo.length;
+            double[] offset = new double[dim], scale = new double[dim];
+            boolean[] spread = new boolean[dim];
+            for (int j = 0; j < dim; j++) {
+                offset[j] = (lo[j] + hi[j]) / 2;
+                spread[j] = hi[j] > lo[j];
+                scale[j] = spread[j] ? (hi[j] - lo[j]) / 254 : 1.0; // constant column: every code is 0
+            }
+            return new Quantizer(offset, scale, spread);
+        }
+
+        // === This quantizer when [lo, hi] already fits, otherwise a wider one with the same offset ===
+        Quantizer cover(double[] lo, double[] hi) {
+            checkFinite(lo, hi);
+            double[] next = scale;
+            boolean[] nextSpread = spread;
+            for (int j = 0; j < scale.length; j++) {
+                double need = Math.max(hi[j] - offset[j], offset[j] - lo[j]) / 127;
+                double s = scale[j];
+                if (!spread[j]) {
+                    if (need <= 0) continue;
+                    s = need;
+                } else {
+                    if (need <= s * (1 + 1e-9)) continue; // rounding slack; encode() clamps anyway
+                    while (s < need) s *= 2;
+                }
+                if (next == scale) {
+                    next = scale.clone();
+                    nextSpread = spread.clone();
+                }
+                next[j] = s;
+                nextSpread[j] = true;
+            }
+            return next == scale ? this : new Quantizer(offset, next, nextSpread);
+        }
+
+        // True if a code means the same value under both quantizers
+        boolean sameCodes(Quantizer other) {
+            return other == this || (other.offset == offset && Arrays.equals(other.scale, scale));
+        }
+
+        byte encode(double v, int j) {
+            return clamp(Math.round((v - offset[j]) / scale[j]));
+        }
+
+        static byte clamp(long c) {
+            return (byte) Math.max(-127, Math.min(127, c));
+        }
+
+        private static void checkFinite(double[] lo, double[] hi) {
+            for (int j = 0; j < lo.length; j++)
+                if (!Double.isFinite(lo[j]) || !Double.isFinite(hi[j]))
+                    throw new IllegalArgumentException("INT8 storage needs finite feature values!");
+        }
+    }
+}
@@ -1,91 +1,743 @@
 package neuronx.supervised.classification;
 
 import java.util.*;
+import java.util.concurrent.*;
+import neuronx.neighbors.BallTree;
+import neuronx.neighbors.HNSWIndex;
+import neuronx.neighbors.KDTree;
+import neuronx.neighbors.NeighborHeap;
+import neuronx.neighbors.NeighborIndex;
+import neuronx.utils.ParallelPool;
 
 /**
  * KNeighborsClassifier - Simple KNN model (similar to sklearn)
  * Works for supervised classification problems.
+ *
+ * Neighbor search (like sklearn's algorithm parameter):
+ * - BRUTE: linear scan over every training point (default)
+ * - KD_TREE / BALL_TREE: exact search through a spatial index built in fit()
+ * - AUTO: KD_TREE for low-dimensional data, BALL_TREE otherwise
+ * - HNSW: approximate search through a navigable small-world graph, for high-dimensional
+ *   embeddings where exact trees stop pruning (tune with setHnswParams, check with recallReport)
+ *
+ * Online updates: partialFit() and remove() change the model in place while other threads
+ * keep predicting. The reference set is a versioned snapshot of immutable segments; writers
+ * build the next snapshot off to the side and publish it with one volatile write, so
+ * readers never take a lock and always see a consistent set of rows.
+ *
+ * Query cache: enableCache() memoizes predict(double[]) for repeated feature vectors
+ * (exact, or bucketed to a quantization step). Every update, and every efSearch change,
+ * bumps the snapshot version, which invalidates all cached labels.
+ *
+ * Compact storage: setStorage(FLOAT32 | INT8) keeps brute-force reference rows in a contiguous
+ * float or int8-quantized array and scans them directly; with a re-rank factor the top
+ * k * factor candidates are re-scored against full-precision rows before voting.
  */
 public class KNNClassifier {
 
-    // === Internal class for dataset points ===
-    private static class DataPoint {
-        double[] features;
-        String label;
+    public enum Algorithm { BRUTE, KD_TREE, BALL_TREE, AUTO, HNSW }
 
-        DataPoint(double[] features, String label) {
-            this.features = features;
-            this.label = label;
+    public enum Storage { FLOAT64, FLOAT32, INT8 }
+
+    // AUTO switches from KD_TREE to BALL_TREE above this many features
+    private static final int KD_TREE_MAX_DIM = 15;
+
+    // Batch brute force scans the reference set in blocks of about this many doubles (~256 KB),
+    // so one block stays in cache while a tile of queries is compared against it
+    private static final int BLOCK_DOUBLES = 32 * 1024;
+    private static final int QUERY_TILE = 32;
+
+    // Writers merge the segments that are not full once there are more than this many
+    private static final int MAX_SEGMENTS = 8;
+
+    // A segment holds at most this many values (512 MB as float64), so row * dim always fits an
+    // int index; larger reference sets are split over several segments
+    private static final int MAX_SEGMENT_VALUES = 1 << 26;
+
+    // === Published reference set; replaced as a whole on every update ===
+    private static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(new KNNSegment[0], new String[0], -1, 0, 0);
+
+        final KNNSegment[] segments;
+        final int[] bases;       // global row id of each segment's first row
+        final String[] classes;  // class id -> label
+        final int dim;
+        final int live;
+        final long version;
+        final int candidates; // neighbors gathered before re-ranking (k when not re-ranking)
+
+        Snapshot(KNNSegment[] segments, String[] classes, int dim, long version, int candidates) {
+            this.segments = segments;
+            this.classes = classes;
+            this.dim = dim;
+            this.version = version;
+            this.candidates = candidates;
+            this.bases = new int[segments.length];
+            int base = 0, alive = 0;
+            for (int i = 0; i < segments.length; i++) {
+                bases[i] = base;
+                base += segments[i].size;
+                alive += segments[i].live;
+            }
+            this.live = alive;
+        }
+
+        int labelOf(int row) {
+            int s = segmentOf(row);
+            return segments[s].labelIds[row - bases[s]];
+        }
+
+        double exactDistance(double[] x, int row) {
+            int s = segmentOf(row);
+            return segments[s].exactDistance(x, row - bases[s]);
+        }
+
+        int segmentOf(int row) {
+            int s = segments.length - 1;
+            while (bases[s] > row) s--;
+            return s;
         }
     }
 
-    private List<DataPoint> trainingData = new ArrayList<>();
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private final Object writeLock = new Object();
+    private volatile PredictionCache cache; // null = disabled
+
+    // Labels are encoded once when rows are added; votes are counted per class id
+    private final List<String> classes = new ArrayList<>();       // guarded by writeLock
+    private final Map<String, Integer> classIds = new HashMap<>(); // guarded by writeLock
+
     private int k = 3;  // Default to 3 (odd number)
+    private Algorithm algorithm = Algorithm.BRUTE;
+    private Storage storage = Storage.FLOAT64;
+    private int rerankFactor = 0; // 0 = trust compressed distances
+    private FeatureStore.Quantizer quantizer; // INT8 code space shared by all segments, guarded by writeLock
+
+    // === HNSW parameters (used when algorithm == HNSW) ===
+    private int hnswM = HNSWIndex.DEFAULT_M;
+    private int efConstruction = HNSWIndex.DEFAULT_EF_CONSTRUCTION;
+    private volatile int efSearch = HNSWIndex.DEFAULT_EF_SEARCH;
+
+    // === Batch prediction settings (like sklearn's n_jobs) ===
+    private final ParallelPool workers = new ParallelPool(); // common pool unless setParallelism() says otherwise
+    private int minParallelBatch = 1024; // smaller batches run on the calling thread
+
+    // Per-thread query buffers, reused so predict() does not allocate
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(() -> new Scratch(k));
+
+    private static class Scratch {
+        final NeighborHeap heap;
+        NeighborHeap candidates;  // k, or k * rerankFactor when re-ranking
+        NeighborHeap local;       // per-segment results before they are merged
+        final NeighborHeap[] tile = new NeighborHeap[QUERY_TILE];
+        int[] votes = new int[0];
+        double[] dists = new double[0]; // one block of query-to-row distances
+        float[] query = new float[0];   // query mapped into a compact store's format
+
+        Scratch(int k) {
+            this.heap = new NeighborHeap(k);
+        }
+
+        NeighborHeap candidates(int capacity) {
+            if (candidates == null || candidates.capacity() != capacity) candidates = new NeighborHeap(capacity);
+            candidates.clear();
+            return candidates;
+        }
+
+        NeighborHeap local(int capacity) {
+            if (local == null || local.capacity() != capacity) local = new NeighborHeap(capacity);
+            return local;
+        }
+
+        NeighborHeap tile(int q, int capacity) {
+            if (tile[q] == null || tile[q].capacity() != capacity) tile[q] = new NeighborHeap(capacity);
+            return tile[q];
+        }
+
+        double[] dists(int blockRows) {
+            if (dists.length < blockRows) dists = new double[blockRows];
+            return dists;
+        }
+
+        float[] query(int dim) {
+            if (query.length < dim) query = new float[dim];
+            return query;
+        }
+    }
 
     // === Constructor with auto-adjust for odd k ===
     public KNNClassifier(int k) {
         this.k = (k % 2 == 0) ? k + 1 : k; // ensure k is odd
     }
 
+    public KNNClassifier(int k, Algorithm algorithm) {
+        this(k);
+        if (algorithm == null) throw new IllegalArgumentException("algorithm must not be null!");
+        this.algorithm = algorithm;
+    }
+
     public KNNClassifier() {
         this.k = 3; // default
     }
 
-    // === Fit method (like sklearn's fit) ===
+    // === HNSW graph parameters; M and efConstruction apply to indexes built from now on ===
+    public void setHnswParams(int M, int efConstruction, int efSearch) {
+        if (M < 2 || efConstruction <= 0 || efSearch <= 0)
+            throw new IllegalArgumentException("HNSW needs M >= 2 and positive ef values!");
+        synchronized (writeLock) {
+            this.hnswM = M;
+            this.efConstruction = efConstruction;
+            this.efSearch = efSearch;
+            Snapshot current = snapshot;
+            boolean retuned = false;
+            for (KNNSegment seg : current.segments) {
+                if (seg.index instanceof HNSWIndex) {
+                    ((HNSWIndex) seg.index).setEfSearch(efSearch);
+                    retuned = true;
+                }
+            }
+            // Approximate answers may change with efSearch: a new version drops cached labels
+            if (retuned) publish(current.segments, current.dim);
+        }
+    }
+
+    // === Reference row storage for rows added from now on ===
+    public void setStorage(Storage storage) {
+        setStorage(storage, 0);
+    }
+
+    // rerankFactor > 0 also keeps full-precision rows and re-scores the best k * rerankFactor
+    // compressed candidates with them (more memory, exact final ranking)
+    public void setStorage(Storage storage, int rerankFactor) {
+        if (storage == null) throw new IllegalArgumentException("storage must not be null!");
+        if (rerankFactor < 0) throw new IllegalArgumentException("rerankFactor must not be negative!");
+        if (storage != Storage.FLOAT64 && algorithm != Algorithm.BRUTE)
+            throw new IllegalArgumentException("Compact storage is only supported with Algorithm.BRUTE");
+        synchronized (writeLock) {
+            this.storage = storage;
+            this.rerankFactor = rerankFactor;
+        }
+    }
+
+    // === Approximate reference-set footprint in bytes (rows, labels, kept exact copies) ===
+    public long memoryBytes() {
+        long bytes = 0;
+        for (KNNSegment seg : snapshot.segments) bytes += seg.bytes();
+        return bytes;
+    }
+
+    // === Prediction cache for repeated queries (exact feature vectors) ===
+    public void enableCache(int maxEntries) {
+        enableCache(maxEntries, 0.0);
+    }
+
+    // quantization > 0 buckets every feature to that step, so near-identical queries share an entry
+    public void enableCache(int maxEntries, double quantization) {
+        this.cache = new PredictionCache(maxEntries, quantization);
+    }
+
+    public void disableCache() {
+        this.cache = null;
+    }
+
+    // === Cache counters: hits, misses, evictions, size (empty when disabled) ===
+    public Map<String, Long> cacheStats() {
+        PredictionCache c = cache;
+        return c == null ? new LinkedHashMap<>() : c.stats();
+    }
+
+    // === Batch prediction settings ===
+    public void setParallelism(int parallelism) {
+        workers.setParallelism(parallelism);
+    }
+
+    public void setMinParallelBatch(int minParallelBatch) {
+        if (minParallelBatch <= 0) throw new IllegalArgumentException("minParallelBatch must be positive!");
+        this.minParallelBatch = minParallelBatch;
+    }
+
+    // === Fit method (like sklearn's fit); adds rows and rebuilds the indexes over everything ===
     public void fit(List<double[]> X_train, List<String> y_train) {
-        if (X_train.size() != y_train.size()) {
-            throw new IllegalArgumentException("X and Y size must match!");
+        int total;
+        synchronized (writeLock) {
+            Snapshot current = snapshot;
+            List<KNNSegment> added = newRows(current, X_train, y_train);
+            List<KNNSegment> next = added;
+            if (current.segments.length > 0) { // repack the old rows together with the new ones
+                List<KNNSegment> all = new ArrayList<>(Arrays.asList(current.segments));
+                all.addAll(added);
+                next = merge(all);
+            }
+            publish(next.toArray(new KNNSegment[0]), dimOf(current, added));
+            total = snapshot.live;
         }
-        for (int i = 0; i < X_train.size(); i++) {
-            trainingData.add(new DataPoint(X_train.get(i), y_train.get(i)));
+        System.out.println("✅ Model trained with " + total + " samples. (k=" + k + ")");
+    }
+
+    // === Add rows without touching the existing ones; concurrent predict() keeps running ===
+    public void partialFit(List<double[]> X_new, List<String> y_new) {
+        synchronized (writeLock) {
+            Snapshot current = snapshot;
+            List<KNNSegment> added = newRows(current, X_new, y_new);
+            if (added.isEmpty()) return;
+
+            List<KNNSegment> next = new ArrayList<>(Arrays.asList(current.segments));
+            next.addAll(added);
+            int dim = dimOf(current, added);
+            List<KNNSegment> small = new ArrayList<>();
+            for (KNNSegment seg : next) if (seg.size < segmentRows(dim)) small.add(seg);
+            if (small.size() > MAX_SEGMENTS) {
+                next.removeAll(small);
+                next.addAll(merge(small));
+            }
+            publish(next.toArray(new KNNSegment[0]), dim);
+        }
+    }
+
+    // === Remove every training row whose features equal x; returns how many were removed ===
+    // Needs exact rows: FLOAT64 storage, or compact storage with a re-rank factor
+    public int remove(double[] x) {
+        synchronized (writeLock) {
+            Snapshot current = snapshot;
+            if (current.live == 0 || x.length < current.dim) return 0;
+            for (KNNSegment seg : current.segments) {
+                if (seg.exact == null)
+                    throw new IllegalStateException("remove() needs exact rows: use FLOAT64 storage or a re-rank factor!");
+            }
+
+            int removed = 0;
+            List<KNNSegment> next = new ArrayList<>();
+            for (KNNSegment seg : current.segments) {
+                BitSet hits = seg.matches(x);
+                if (hits.isEmpty()) {
+                    next.add(seg);
+                    continue;
+                }
+                removed += hits.cardinality();
+                if (seg.deleted != null) hits.or(seg.deleted);
+                seg = seg.withDeleted(hits);
+                // Mostly tombstones: rebuild the segment so searches stop wading through them
+                if (seg.live < seg.size / 2) next.addAll(merge(Collections.singletonList(seg)));
+                else next.add(seg);
+            }
+            if (removed == 0) return 0;
+            publish(next.toArray(new KNNSegment[0]), current.dim);
+            return removed;
         }
-        System.out.println("✅ Model trained with " + trainingData.size() + " samples. (k=" + k + ")");
+    }
+
+    // === Number of live training rows ===
+    public int size() {
+        return snapshot.live;
     }
 
     // === Predict single sample ===
     public String predict(double[] X_test) {
-        if (trainingData.isEmpty()) {
+        Snapshot snap = snapshot;
+        if (snap.live == 0) {
             throw new IllegalStateException("Model not trained. Call fit() first.");
         }
+        if (X_test.length < snap.dim) { // extra trailing values are ignored, as before
+            throw new IllegalArgumentException("Sample has " + X_test.length + " features, expected " + snap.dim);
+        }
+
+        PredictionCache c = cache;
+        if (c != null) {
+            String cached = c.get(X_test, snap.dim, snap.version);
+            if (cached != null) return cached;
+        }
+
+        Scratch s = scratch.get();
+        NeighborHeap heap = s.candidates(snap.candidates);
+
+        // Collect the k nearest rows (squared distances rank the same as distances)
+        search(snap, X_test, heap, s, false);
+        String label = vote(snap, rerank(snap, X_test, heap, s), s);
+
+        if (c != null) c.put(X_test, snap.dim, snap.version, label);
+        return label;
+    }
+
+    private void search(Snapshot snap, double[] x, NeighborHeap heap, Scratch s, boolean exact) {
+        int blockRows = blockRows(snap.dim);
+        double[] dists = s.dists(blockRows);
+        float[] query = s.query(snap.dim);
+        for (int i = 0; i < snap.segments.length; i++) {
+            KNNSegment seg = snap.segments[i];
+            if (exact) {
+                for (int b = 0; b < seg.size; b += blockRows)
+                    seg.scanExact(x, b, Math.min(seg.size, b + blockRows), heap, dists, snap.bases[i]);
+            } else {
+                seg.search(x, heap, s.local(heap.capacity()), dists, query, blockRows, snap.bases[i]);
+            }
+        }
+    }
+
+    // === Re-score compressed candidates in full precision; returns a heap of the best k ===
+    // (only snapshots with kept exact rows gather extra candidates)
+    private NeighborHeap rerank(Snapshot snap, double[] x, NeighborHeap candidates, Scratch s) {
+        if (snap.candidates == k) return candidates;
+        NeighborHeap heap = s.heap;
+        heap.clear();
+        for (int i = 0; i < candidates.size(); i++) {
+            int row = candidates.index(i);
+            heap.offer(snap.exactDistance(x, row), row);
+        }
+        return heap;
+    }
+
+    private static int blockRows(int dim) {
+        return Math.max(64, BLOCK_DOUBLES / dim);
+    }
+
+    // === Compare the configured index against exact brute force ===
+    // recall: share of returned neighbors that are within the true k-th nearest distance
+    // agreement: share of queries whose predicted label matches brute-force predict
+    public Map<String, Double> recallReport(List<double[]> X_test) {
+        Snapshot snap = snapshot;
+        checkBatch(snap, X_test);
+        NeighborHeap exact = new NeighborHeap(k);
+        Scratch s = scratch.get();
+
+        long indexNanos = 0, bruteNanos = 0;
+        double hits = 0, total = 0;
+        int agree = 0;
+        for (double[] x : X_test) {
+            exact.clear();
+
+            long t0 = System.nanoTime();
+            NeighborHeap approx = s.candidates(snap.candidates);
+            search(snap, x, approx, s, false);
+            approx = rerank(snap, x, approx, s);
+            String approxLabel = vote(snap, approx, s);
+            long t1 = System.nanoTime();
+            search(snap, x, exact, s, true);
+            String exactLabel = vote(snap, exact, s);
+            long t2 = System.nanoTime();
+
+            indexNanos += t1 - t0;
+            bruteNanos += t2 - t1;
+            double kth = exact.distance(exact.size() - 1); // vote() sorted it ascending
+            for (int i = 0; i < approx.size(); i++)
+                if (snap.exactDistance(x, approx.index(i)) <= kth) hits++;
+            total += exact.size();
+            if (approxLabel.equals(exactLabel)) agree++;
+        }
+
+        Map<String, Double> report = new LinkedHashMap<>();
+        report.put("recall", total == 0 ? 1.0 : hits / total);
+        report.put("agreement", X_test.isEmpty() ? 1.0 : (double) agree / X_test.size());
+        report.put("index_ms_per_query", X_test.isEmpty() ? 0.0 : indexNanos / 1e6 / X_test.size());
+        report.put("brute_ms_per_query", X_test.isEmpty() ? 0.0 : bruteNanos / 1e6 / X_test.size());
+        return report;
+    }
+
+    // === Majority vote; ties go to the class whose neighbor is closest ===
+    private String vote(Snapshot snap, NeighborHeap heap, Scratch s) {
+        if (s.votes.length < snap.classes.length) s.votes = new int[snap.classes.length];
+        int[] votes = s.votes;
+
+        heap.sort();
+        int bestCount = 0;
+        for (int i = 0; i < heap.size(); i++) bestCount = Math.max(bestCount, ++votes[snap.labelOf(heap.index(i))]);
+        // Neighbors are sorted nearest first, so the first class with the top count has the closest neighbor
+        int best = -1;
+        for (int i = 0; i < heap.size(); i++) {
+            int c = snap.labelOf(heap.index(i));
+            if (best < 0 && votes[c] == bestCount) best = c;
+            votes[c] = 0;
+        }
+
+        return snap.classes[best];
+    }
+
+    // === Writer helpers (called with writeLock held) ===
+
+    // Validates and encodes a batch into new segments (none for an empty batch)
+    private List<KNNSegment> newRows(Snapshot current, List<double[]> X, List<String> y) {
+        if (X.size() != y.size()) {
+            throw new IllegalArgumentException("X and Y size must match!");
+        }
+        if (X.isEmpty()) return Collections.emptyList();
+
+        int dim = current.dim >= 0 ? current.dim : X.get(0).length;
+        long total = X.size();
+        for (KNNSegment seg : current.segments) total += seg.size;
+        if (total > Integer.MAX_VALUE) throw new IllegalArgumentException("Too many rows for one model!");
+        for (double[] row : X) {
+            if (row.length != dim)
+                throw new IllegalArgumentException("All samples must have " + dim + " features!");
+        }
+        if (storage == Storage.INT8) {
+            if (current.segments.length == 0) quantizer = null; // a fresh model gets a fresh code space
+            double[][] range = range(dim);
+            for (double[] row : X) widen(range, row);
+            cover(range);
+        }
+
+        SegmentBuilder out = new SegmentBuilder(X.size(), dim, storage == Storage.FLOAT64 || rerankFactor > 0);
+        for (int i = 0; i < X.size(); i++) out.add(X.get(i), encodeLabel(y.get(i)));
+        return out.segments;
+    }
+
+    // Copies the live rows of the given segments into freshly built, packed segments; compact rows
+    // move over without a round trip through double (see FeatureStore.copy)
+    private List<KNNSegment> merge(List<KNNSegment> segs) {
+        int dim = segs.get(0).dim, rows = 0;
+        boolean allExact = true;
+        for (KNNSegment seg : segs) {
+            rows += seg.live;
+            allExact &= seg.exact != null;
+        }
+        if (storage == Storage.INT8) { // rows stored in another format may lie outside the code space
+            double[][] range = null;
+            double[] row = new double[dim];
+            for (KNNSegment seg : segs) {
+                if (seg.store instanceof FeatureStore.Int8) continue;
+                if (range == null) range = range(dim);
+                for (int i = 0; i < seg.size; i++) {
+                    if (seg.isDeleted(i)) continue;
+                    for (int j = 0; j < dim; j++) row[j] = seg.get(i, j);
+                    widen(range, row);
+                }
+            }
+            if (range != null) cover(range);
+        }
+
+        SegmentBuilder out = new SegmentBuilder(rows, dim, allExact && (storage == Storage.FLOAT64 || rerankFactor > 0));
+        for (KNNSegment seg : segs) {
+            for (int i = 0; i < seg.size; i++) if (!seg.isDeleted(i)) out.add(seg, i);
+        }
+        return out.segments;
+    }
+
+    // Rows per segment: as many as fit in MAX_SEGMENT_VALUES
+    private static int segmentRows(int dim) {
+        return Math.max(1, MAX_SEGMENT_VALUES / Math.max(1, dim));
+    }
+
+    // [lo, hi] per dimension, empty
+    private static double[][] range(int dim) {
+        double[][] range = {new double[dim], new double[dim]};
+        Arrays.fill(range[0], Double.POSITIVE_INFINITY);
+        Arrays.fill(range[1], Double.NEGATIVE_INFINITY);
+        return range;
+    }
+
+    private static void widen(double[][] range, double[] row) {
+        for (int j = 0; j < range[0].length; j++) {
+            range[0][j] = Math.min(range[0][j], row[j]); // Math.min/max keep NaN, which cover() rejects
+            range[1][j] = Math.max(range[1][j], row[j]);
+        }
+    }
+
+    private void cover(double[][] range) {
+        quantizer = quantizer == null ? FeatureStore.Quantizer.of(range[0], range[1]) : quantizer.cover(range[0], range[1]);
+    }
 
-        List<Map.Entry<Double, String>> distances = new ArrayList<>();
+    // === Packs rows, in order, into segments of at most segmentRows(dim) rows in the current storage ===
+    private final class SegmentBuilder {
+        final List<KNNSegment> segments = new ArrayList<>();
+        private final int dim, perSegment;
+        private final boolean keepExact; // full-precision copies next to a compact store
+        private int remaining;
+        private FeatureStore store;      // segment being filled, null between segments
+        private double[] exact;
+        private int[] labelIds;
+        private int row;
 
-        // Compute distances
-        for (DataPoint dp : trainingData) {
-            double dist = euclideanDistance(dp.features, X_test);
-            distances.add(new AbstractMap.SimpleEntry<>(dist, dp.label));
+        SegmentBuilder(int rows, int dim, boolean keepExact) {
+            this.dim = dim;
+            this.perSegment = segmentRows(dim);
+            this.keepExact = keepExact;
+            this.remaining = rows;
         }
 
-        // Sort by distance
-        distances.sort(Comparator.comparing(Map.Entry::getKey));
+        void add(double[] x, int label) {
+            start();
+            for (int j = 0; j < dim; j++) store.set(row, j, x[j]);
+            if (exact != store.exactRows()) System.arraycopy(x, 0, exact, row * dim, dim);
+            next(label);
+        }
+
+        // Row i of seg (which keeps exact rows whenever keepExact is set)
+        void add(KNNSegment seg, int i) {
+            start();
+            store.copy(row, seg, i);
+            if (exact != store.exactRows()) System.arraycopy(seg.exact, i * dim, exact, row * dim, dim);
+            next(seg.labelIds[i]);
+        }
+
+        private void start() {
+            if (store != null) return;
+            int size = Math.min(perSegment, remaining);
+            store = FeatureStore.allocate(storage, size, dim, quantizer);
+            exact = store.exactRows() != null ? store.exactRows() : keepExact ? new double[size * dim] : null;
+            labelIds = new int[size];
+            row = 0;
+        }
 
-        // Count labels in top k
-        Map<String, Integer> labelCount = new HashMap<>();
-        for (int i = 0; i < Math.min(k, distances.size()); i++) {
-            String label = distances.get(i).getValue();
-            labelCount.put(label, labelCount.getOrDefault(label, 0) + 1);
+        // Stores the label and closes the segment once it is full
+        private void next(int label) {
+            labelIds[row++] = label;
+            if (row < store.size) return;
+            double[] rows = store.exactRows(); // only float64 segments get a neighbor index
+            NeighborIndex index = rows != null ? buildIndex(rows, store.size, dim) : null;
+            segments.add(new KNNSegment(store, exact, labelIds, index, null));
+            remaining -= store.size;
+            store = null;
         }
+    }
+
+    private NeighborIndex buildIndex(double[] features, int rows, int dim) {
+        if (algorithm == Algorithm.BRUTE) return null;
+
+        Algorithm resolved = algorithm;
+        if (resolved == Algorithm.AUTO)
+            resolved = dim <= KD_TREE_MAX_DIM ? Algorithm.KD_TREE : Algorithm.BALL_TREE;
+
+        if (resolved == Algorithm.HNSW)
+            return new HNSWIndex(features, rows, dim, hnswM, efConstruction, efSearch, 42L);
+        if (resolved == Algorithm.KD_TREE)
+            return new KDTree(features, rows, dim);
+        return new BallTree(features, rows, dim);
+    }
 
-        // Return majority label
-        return Collections.max(labelCount.entrySet(), Map.Entry.comparingByValue()).getKey();
+    private void publish(KNNSegment[] segments, int dim) {
+        boolean rerank = false;
+        for (KNNSegment seg : segments) rerank |= seg.exact != null && seg.store.exactRows() == null;
+        int candidates = rerank ? k * Math.max(1, rerankFactor) : k;
+        snapshot = new Snapshot(segments, classes.toArray(new String[0]), dim, snapshot.version + 1, candidates);
     }
 
-    // === Predict multiple samples ===
+    private static int dimOf(Snapshot current, List<KNNSegment> added) {
+        return current.dim >= 0 ? current.dim : (added.isEmpty() ? -1 : added.get(0).dim);
+    }
+
+    private int encodeLabel(String label) {
+        Integer id = classIds.get(label);
+        if (id == null) {
+            id = classes.size();
+            classes.add(label);
+            classIds.put(label, id);
+        }
+        return id;
+    }
+
+    // === Predict multiple samples (parallel on the ForkJoinPool for large batches) ===
     public List<String> predict(List<double[]> X_test) {
-        List<String> predictions = new ArrayList<>();
+        Snapshot snap = snapshot;
+        checkBatch(snap, X_test);
+        String[] out = new String[X_test.size()];
+
+        ForkJoinPool pool = workers.get();
+        if (pool == null || out.length < minParallelBatch) {
+            predictRange(snap, X_test, 0, out.length, out);
+        } else {
+            int grain = Math.max(QUERY_TILE, out.length / (pool.getParallelism() * 4));
+            pool.invoke(new BatchTask(snap, X_test, 0, out.length, grain, out));
+        }
+        return new ArrayList<>(Arrays.asList(out));
+    }
+
+    // === Predict multiple samples on a caller-supplied executor ===
+    // Batches of minParallelBatch+ rows always go to the executor, in fixed tiles of at least
+    // minParallelBatch / 4 rows; setParallelism() does not apply here
+    public List<String> predict(List<double[]> X_test, ExecutorService executor) {
+        Snapshot snap = snapshot;
+        checkBatch(snap, X_test);
+        String[] out = new String[X_test.size()];
+
+        if (out.length < minParallelBatch) {
+            predictRange(snap, X_test, 0, out.length, out);
+            return new ArrayList<>(Arrays.asList(out));
+        }
+
+        int tile = Math.max(QUERY_TILE, minParallelBatch / 4);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int from = 0; from < out.length; from += tile) {
+            int start = from, end = Math.min(out.length, from + tile);
+            futures.add(executor.submit(() -> predictRange(snap, X_test, start, end, out)));
+        }
+        try {
+            for (Future<?> f : futures) f.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Batch prediction interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            throw new IllegalStateException("Batch prediction failed", cause);
+        }
+        return new ArrayList<>(Arrays.asList(out));
+    }
+
+    private static void checkBatch(Snapshot snap, List<double[]> X_test) {
+        if (snap.live == 0) throw new IllegalStateException("Model not trained. Call fit() first.");
         for (double[] sample : X_test) {
-            predictions.add(predict(sample));
+            if (sample.length < snap.dim)
+                throw new IllegalArgumentException("Sample has " + sample.length + " features, expected " + snap.dim);
         }
-        return predictions;
     }
 
-    // === Euclidean distance ===
-    private double euclideanDistance(double[] a, double[] b) {
-        double sum = 0;
-        for (int i = 0; i < a.length; i++) {
-            sum += Math.pow(a[i] - b[i], 2);
+    // Splits the query range in halves; each leaf writes its own slice of out, so order is fixed
+    @SuppressWarnings("serial")
+    private class BatchTask extends RecursiveAction {
+        private final Snapshot snap;
+        private final List<double[]> X;
+        private final int from, to, grain;
+        private final String[] out;
+
+        BatchTask(Snapshot snap, List<double[]> X, int from, int to, int grain, String[] out) {
+            this.snap = snap;
+            this.X = X;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+            this.out = out;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                predictRange(snap, X, from, to, out);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new BatchTask(snap, X, from, mid, grain, out), new BatchTask(snap, X, mid, to, grain, out));
+        }
+    }
+
+    // === Predict X[from, to) into out[from, to); the whole batch sees one snapshot ===
+    private void predictRange(Snapshot snap, List<double[]> X, int from, int to, String[] out) {
+        Scratch s = scratch.get();
+        int blockRows = blockRows(snap.dim);
+        double[] dists = s.dists(blockRows);
+        float[] query = s.query(snap.dim);
+        NeighborHeap local = s.local(snap.candidates);
+
+        // Brute-force segments go in tiles: every query of the tile visits one reference block
+        // before moving on, so each block is loaded into cache once per tile instead of per query
+        for (int t = from; t < to; t += QUERY_TILE) {
+            int tileEnd = Math.min(to, t + QUERY_TILE);
+            for (int q = t; q < tileEnd; q++) s.tile(q - t, snap.candidates).clear();
+
+            for (int i = 0; i < snap.segments.length; i++) {
+                KNNSegment seg = snap.segments[i];
+                int base = snap.bases[i];
+                if (seg.index != null) {
+                    for (int q = t; q < tileEnd; q++)
+                        seg.search(X.get(q), s.tile[q - t], local, dists, query, blockRows, base);
+                    continue;
+                }
+                for (int b = 0; b < seg.size; b += blockRows) {
+                    int blockEnd = Math.min(seg.size, b + blockRows);
+                    for (int q = t; q < tileEnd; q++)
+                        seg.scanBlock(X.get(q), b, blockEnd, s.tile[q - t], dists, query, base);
+                }
+            }
+            for (int q = t; q < tileEnd; q++) out[q] = vote(snap, rerank(snap, X.get(q), s.tile[q - t], s), s);
         }
-        return Math.sqrt(sum);
     }
 
     // === Example usage ===
@@ -118,5 +770,32 @@ public class KNNClassifier {
         );
         List<String> preds = knn.predict(X_test);
         System.out.println("Batch predictions: " + preds);
+
+        // Same model backed by a KD-tree index
+        KNNClassifier knnTree = new KNNClassifier(3, Algorithm.KD_TREE);
+        knnTree.fit(X_train, y_train);
+        System.out.println("KD-tree predictions: " + knnTree.predict(X_test));
+
+        // Approximate search: check recall against brute force before trusting it
+        KNNClassifier knnHnsw = new KNNClassifier(3, Algorithm.HNSW);
+        knnHnsw.setHnswParams(16, 200, 50);
+        knnHnsw.fit(X_train, y_train);
+        System.out.println("HNSW recall report: " + knnHnsw.recallReport(X_test));
+
+        // Online updates: add and remove rows while the model keeps serving
+        knn.partialFit(Arrays.asList(new double[]{5.0, 5.0}, new double[]{6.0, 6.0}), Arrays.asList("B", "B"));
+        knn.remove(new double[]{3.0, 3.0});
+        System.out.println("After partialFit/remove (" + knn.size() + " rows): " + knn.predict(X_test));
+
+        // Cache hot queries
+        knn.enableCache(10_000);
+        for (int i = 0; i < 3; i++) knn.predict(testPoint);
+        System.out.println("Cache stats: " + knn.cacheStats());
+
+        // Compact int8 reference rows, re-ranked in double precision
+        KNNClassifier knnInt8 = new KNNClassifier(3);
+        knnInt8.setStorage(Storage.INT8, 4);
+        knnInt8.fit(X_train, y_train);
+        System.out.println("INT8 predictions: " + knnInt8.predict(X_test) + " (" + knnInt8.memoryBytes() + " bytes)");
     }
 }
@@ -0,0 +1,116 @@
+package neuronx.supervised.classification;
+
+import java.util.BitSet;
+import neuronx.neighbors.DistanceKernel;
+import neuronx.neighbors.NeighborHeap;
+import neuronx.neighbors.NeighborIndex;
+
+/**
+ * KNNSegment - Immutable block of KNN reference rows with its own (optional) neighbor index.
+ *
+ * Rows are never modified after construction. Removing rows produces a new segment that
+ * shares the storage and index but carries a new tombstone set, so readers holding
+ * the old segment are unaffected.
+ */
+final class KNNSegment {
+
+    private static final DistanceKernel KERNEL = DistanceKernel.get();
+
+    final FeatureStore store;  // scanned by brute force (possibly compressed)
+    final double[] exact;      // full-precision rows, or null when only the compressed form is kept
+    final int[] labelIds;
+    final int size;
+    final int dim;
+    final NeighborIndex index; // null = brute force
+    final BitSet deleted;      // null = no tombstones
+    final int live;
+
+    KNNSegment(FeatureStore store, double[] exact, int[] labelIds, NeighborIndex index, BitSet deleted) {
+        this.store = store;
+        this.exact = exact;
+        this.labelIds = labelIds;
+        this.size = store.size;
+        this.dim = store.dim;
+        this.index = index;
+        this.deleted = deleted;
+        this.live = size - (deleted == null ? 0 : deleted.cardinality());
+    }
+
+    KNNSegment withDeleted(BitSet deleted) {
+        return new KNNSegment(store, exact, labelIds, index, deleted);
+    }
+
+    boolean isDeleted(int row) {
+        return deleted != null && deleted.get(row);
+    }
+
+    // === Offer this segment's nearest live rows to heap as (base + row) ===
+    void search(double[] x, NeighborHeap heap, NeighborHeap local, double[] dists, float[] query,
+                int blockRows, int base) {
+        if (index != null) {
+            local.clear();
+            index.kneighbors(x, local, deleted);
+            for (int i = 0; i < local.size(); i++) heap.offer(local.distance(i), base + local.index(i));
+            return;
+        }
+        for (int b = 0; b < size; b += blockRows)
+            scanBlock(x, b, Math.min(size, b + blockRows), heap, dists, query, base);
+    }
+
+    // Distances to rows [from, to) in one kernel call, then keep the ones that beat the heap
+    void scanBlock(double[] x, int from, int to, NeighborHeap heap, double[] dists, float[] query, int base) {
+        store.distances(x, query, from, to, dists);
+        for (int i = from; i < to; i++) {
+            double dist = dists[i - from];
+            if (dist < heap.worst() && !isDeleted(i)) heap.offer(dist, base + i);
+        }
+    }
+
+    // Same as scanBlock but in double precision: kept exact rows, or decoded compressed values
+    void scanExact(double[] x, int from, int to, NeighborHeap heap, double[] dists, int base) {
+        if (exact != null) {
+            KERNEL.squaredDistances(x, exact, from, to, dim, dists);
+        } else {
+            for (int i = from; i < to; i++) dists[i - from] = exactDistance(x, i);
+        }
+        for (int i = from; i < to; i++) {
+            double dist = dists[i - from];
+            if (dist < heap.worst() && !isDeleted(i)) heap.offer(dist, base + i);
+        }
+    }
+
+    // === Squared distance at the best precision available (decoded values without exact rows) ===
+    double exactDistance(double[] x, int row) {
+        if (exact != null) return KERNEL.squaredDistance(x, 0, exact, row * dim, dim);
+        double sum = 0;
+        for (int j = 0; j < dim; j++) {
+            double diff = x[j] - store.get(row, j);
+            sum += diff * diff;
+        }
+        return sum;
+    }
+
+    // === Row value at the best precision available ===
+    double get(int row, int j) {
+        return exact != null ? exact[row * dim + j] : store.get(row, j);
+    }
+
+    // === Live rows whose kept exact features equal x (callers check that exact rows are kept) ===
+    BitSet matches(double[] x) {
+        BitSet hits = new BitSet();
+        for (int i = 0; i < size; i++) {
+            if (isDeleted(i)) continue;
+            boolean same = true;
+            int off = i * dim;
+            for (int j = 0; j < dim && same; j++) same = exact[off + j] == x[j];
+            if (same) hits.set(i);
+        }
+        return hits;
+    }
+
+    long bytes() {
+        long bytes = store.bytes() + 4L * size;
+        if (exact != null && exact != store.exactRows()) bytes += 8L * exact.length;
+        return bytes;
+    }
+}
@@ -0,0 +1,182 @@
+package neuronx.supervised.classification;
+
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * PredictionCache - Bounded map from feature vector to predicted label for KNNClassifier.
+ *
+ * Split into independently locked LRU shards. A small count-min frequency sketch per shard
+ * (TinyLFU admission) decides whether a new key may evict the least recently used one, so a
+ * burst of one-off queries cannot flush out the hot keys.
+ *
+ * Entries remember the model version they were computed for; anything from an older version
+ * is treated as a miss, which invalidates the cache on every fit/partialFit/remove.
+ */
+final class PredictionCache {
+
+    private static final int MAX_SHARDS = 16;
+
+    private final Shard[] shards;
+    private final double quantum; // 0 = exact keys, otherwise values are bucketed to this step
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    PredictionCache(int maxEntries, double quantum) {
+        if (maxEntries <= 0) throw new IllegalArgumentException("Cache size must be positive!");
+        if (quantum < 0) throw new IllegalArgumentException("Quantization step must not be negative!");
+        this.quantum = quantum;
+
+        int count = Math.min(MAX_SHARDS, Integer.highestOneBit(maxEntries));
+        int perShard = (maxEntries + count - 1) / count;
+        this.shards = new Shard[count];
+        for (int i = 0; i < count; i++) shards[i] = new Shard(perShard);
+    }
+
+    // === Cached label for x at this model version, or null ===
+    String get(double[] x, int dim, long version) {
+        Key key = key(x, dim);
+        Shard shard = shards[key.hash & (shards.length - 1)];
+        synchronized (shard) {
+            shard.sketch.increment(key.hash);
+            Entry e = shard.map.get(key);
+            if (e != null && e.version == version) {
+                hits.increment();
+                return e.label;
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    void put(double[] x, int dim, long version, String label) {
+        Key key = key(x, dim);
+        Shard shard = shards[key.hash & (shards.length - 1)];
+        synchronized (shard) {
+            Entry existing = shard.map.get(key);
+            if (existing != null) {
+                existing.version = version;
+                existing.label = label;
+                return;
+            }
+            if (shard.map.size() >= shard.capacity) {
+                Map.Entry<Key, Entry> eldest = shard.map.entrySet().iterator().next();
+                boolean staleVictim = eldest.getValue().version != version;
+                if (!staleVictim && shard.sketch.frequency(key.hash) <= shard.sketch.frequency(eldest.getKey().hash))
+                    return; // candidate is colder than the victim: not admitted
+                shard.map.remove(eldest.getKey());
+                evictions.increment();
+            }
+            shard.map.put(key, new Entry(version, label));
+        }
+    }
+
+    Map<String, Long> stats() {
+        long size = 0;
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                size += shard.map.size();
+            }
+        }
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("evictions", evictions.sum());
+        stats.put("size", size);
+        return stats;
+    }
+
+    private Key key(double[] x, int dim) {
+        long[] bits = new long[dim];
+        for (int j = 0; j < dim; j++) {
+            bits[j] = quantum > 0
+                    ? Math.round(x[j] / quantum)
+                    : Double.doubleToLongBits(x[j] + 0.0); // + 0.0 folds -0.0 into 0.0
+        }
+        return new Key(bits);
+    }
+
+    private static final class Key {
+        final long[] bits;
+        final int hash;
+
+        Key(long[] bits) {
+            this.bits = bits;
+            int h = Arrays.hashCode(bits);
+            this.hash = h ^ (h >>> 16);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && Arrays.equals(bits, ((Key) o).bits);
+        }
+    }
+
+    private static final class Entry {
+        long version;
+        String label;
+
+        Entry(long version, String label) {
+            this.version = version;
+            this.label = label;
+        }
+    }
+
+    private static final class Shard {
+        final int capacity;
+        final LinkedHashMap<Key, Entry> map; // access order = LRU
+        final FrequencySketch sketch;
+
+        Shard(int capacity) {
+            this.capacity = capacity;
+            this.map = new LinkedHashMap<>(16, 0.75f, true);
+            this.sketch = new FrequencySketch(capacity);
+        }
+    }
+
+    // === Count-min sketch with periodic halving so old popularity fades ===
+    private static final class FrequencySketch {
+        private static final int DEPTH = 4;
+        private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+
+        private final int[] table;
+        private final int mask;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(int capacity) {
+            int width = Integer.highestOneBit(Math.max(16, capacity * 2 - 1)) << 1;
+            this.table = new int[DEPTH * width];
+            this.mask = width - 1;
+            this.sampleSize = 10 * Math.max(16, capacity);
+        }
+
+        void increment(int hash) {
+            int width = mask + 1;
+            for (int d = 0; d < DEPTH; d++) table[d * width + slot(hash, d)]++;
+            if (++additions >= sampleSize) {
+                for (int i = 0; i < table.length; i++) table[i] >>>= 1;
+                additions /= 2;
+            }
+        }
+
+        int frequency(int hash) {
+            int width = mask + 1;
+            int min = Integer.MAX_VALUE;
+            for (int d = 0; d < DEPTH; d++) min = Math.min(min, table[d * width + slot(hash, d)]);
+            return min;
+        }
+
+        private int slot(int hash, int d) {
+            int h = hash * SEEDS[d];
+            return (h ^ (h >>> 15)) & mask;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package neuronx.supervised.regression;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * BivariateMoments - Mergeable one-pass means, variances and co-moment of (x, y) pairs.
+ *
+ * add() is Welford's update, merge() is Chan et al.'s pairwise combination. Both work on
+ * deviations from the running means, so there is no Σx² - n·x̄² cancellation on large or
+ * offset data, and states built on separate chunks, threads or shards combine exactly.
+ *
+ * of(x, y, pool) sums fixed blocks of BLOCK values and merges them pairwise; the blocks and
+ * merge order depend only on the length, so the result is the same on one thread or many.
+ */
+final class BivariateMoments {
+
+    static final int BLOCK = 1 << 15;
+
+    long count;
+    double meanX, meanY;
+    double m2x, m2y; // Σ (x - x̄)², Σ (y - ȳ)²
+    double cxy;      // Σ (x - x̄)(y - ȳ)
+
+    // === Welford update with one pair ===
+    void add(double x, double y) {
+        count++;
+        double dx = x - meanX;
+        double dy = y - meanY;
+        meanX += dx / count;
+        meanY += dy / count;
+        m2x += dx * (x - meanX);
+        m2y += dy * (y - meanY);
+        cxy += dx * (y - meanY);
+    }
+
+    // === Pairs x[from, to), y[from, to) ===
+    void add(double[] x, double[] y, int from, int to) {
+        for (int i = from; i < to; i++) add(x[i], y[i]);
+    }
+
+    // === Chan's combination with another state ===
+    void merge(BivariateMoments other) {
+        if (other.count == 0) return;
+        if (count == 0) {
+            copyFrom(other);
+            return;
+        }
+        long n = count + other.count;
+        double dx = other.meanX - meanX;
+        double dy = other.meanY - meanY;
+        double w = (double) count * other.count / n;
+        meanX += dx * other.count / n;
+        meanY += dy * other.count / n;
+        m2x += other.m2x + dx * dx * w;
+        m2y += other.m2y + dy * dy * w;
+        cxy += other.cxy + dx * dy * w;
+        count = n;
+    }
+
+    void copyFrom(BivariateMoments other) {
+        count = other.count;
+        meanX = other.meanX;
+        meanY = other.meanY;
+        m2x = other.m2x;
+        m2y = other.m2y;
+        cxy = other.cxy;
+    }
+
+    // === State of all pairs: blocks summed in a fixed pairwise order (pool == null: calling thread) ===
+    static BivariateMoments of(double[] x, double[] y, ForkJoinPool pool) {
+        int blocks = Math.max(1, (x.length + BLOCK - 1) / BLOCK);
+        BlockSum task = new BlockSum(x, y, 0, blocks);
+        return pool == null || blocks == 1 ? task.compute() : pool.invoke(task);
+    }
+
+    // Sums blocks [from, to); halves are forked only when running inside a pool
+    @SuppressWarnings("serial")
+    private static class BlockSum extends RecursiveTask<BivariateMoments> {
+        private final double[] x, y;
+        private final int from, to;
+
+        BlockSum(double[] x, double[] y, int from, int to) {
+            this.x = x;
+            this.y = y;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected BivariateMoments compute() {
+            if (to - from == 1) {
+                BivariateMoments moments = new BivariateMoments();
+                moments.add(x, y, from * BLOCK, Math.min(x.length, to * BLOCK));
+                return moments;
+            }
+            int mid = (from + to) >>> 1;
+            BlockSum left = new BlockSum(x, y, from, mid);
+            BlockSum right = new BlockSum(x, y, mid, to);
+            BivariateMoments sum;
+            if (inForkJoinPool()) {
+                left.fork();
+                BivariateMoments r = right.compute();
+                sum = left.join();
+                sum.merge(r);
+            } else {
+                sum = left.compute();
+                sum.merge(right.compute());
+            }
+            return sum;
+        }
+    }
+}
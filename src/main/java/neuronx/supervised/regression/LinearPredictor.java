@@ -0,0 +1,151 @@
+package neuronx.supervised.regression;
+
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * LinearPredictor - Batch evaluation of β0 + β·x over rows stored in one flat buffer.
+ *
+ * Row i starts at offset + i * stride (stride >= features, so padded or wider records work) and
+ * its prediction goes to out[outOffset + i]. Nothing is allocated per row or per call; batches
+ * of at least MIN_PARALLEL_ROWS are split into row ranges on the given pool.
+ */
+final class LinearPredictor {
+
+    static final int MIN_PARALLEL_ROWS = 1 << 15;
+    private static final int GRAIN = 1 << 13;
+
+    private LinearPredictor() {}
+
+    static void predict(double[] w, double[] X, int offset, int rows, int stride,
+                        double[] out, int outOffset, ForkJoinPool pool) {
+        check(w, X.length, offset, rows, stride, out, outOffset);
+        if (pool == null || rows < MIN_PARALLEL_ROWS) {
+            rows(w, X, offset, stride, out, outOffset, 0, rows);
+        } else {
+            pool.invoke(new RangeTask((from, to) -> rows(w, X, offset, stride, out, outOffset, from, to), 0, rows));
+        }
+    }
+
+    // Reads X by absolute index from its current position; the buffer's position is not moved
+    static void predict(double[] w, DoubleBuffer X, int rows, int stride,
+                        double[] out, int outOffset, ForkJoinPool pool) {
+        if (X.hasArray()) {
+            predict(w, X.array(), X.arrayOffset() + X.position(), rows, stride, out, outOffset, pool);
+            return;
+        }
+        int offset = X.position();
+        check(w, X.limit(), offset, rows, stride, out, outOffset);
+        if (pool == null || rows < MIN_PARALLEL_ROWS) {
+            rows(w, X, offset, stride, out, outOffset, 0, rows);
+        } else {
+            pool.invoke(new RangeTask((from, to) -> rows(w, X, offset, stride, out, outOffset, from, to), 0, rows));
+        }
+    }
+
+    // Column-major input: feature j of row i is columns[j].get(position + i), e.g. the mapped
+    // columns of a NEURONX dataset. Each range is swept column by column, so every buffer is read
+    // sequentially.
+    static void predict(double[] w, DoubleBuffer[] columns, int rows, double[] out, int outOffset, ForkJoinPool pool) {
+        int m = w.length - 1;
+        if (columns.length != m)
+            throw new IllegalArgumentException("Expected " + m + " feature columns, got " + columns.length + "!");
+        if (rows < 0 || outOffset < 0) throw new IllegalArgumentException("rows and offsets must be non-negative!");
+        for (DoubleBuffer column : columns)
+            if (column.remaining() < rows) throw new IllegalArgumentException("Column holds fewer than " + rows + " rows!");
+        if ((long) outOffset + rows > out.length)
+            throw new IllegalArgumentException("Output holds fewer than " + rows + " values!");
+        if (pool == null || rows < MIN_PARALLEL_ROWS) {
+            columns(w, columns, out, outOffset, 0, rows);
+        } else {
+            pool.invoke(new RangeTask((from, to) -> columns(w, columns, out, outOffset, from, to), 0, rows));
+        }
+    }
+
+    private static void columns(double[] w, DoubleBuffer[] columns, double[] out, int outOffset, int from, int to) {
+        Arrays.fill(out, outOffset + from, outOffset + to, w[0]);
+        for (int j = 0; j < columns.length; j++) {
+            DoubleBuffer column = columns[j];
+            int base = column.position();
+            double wj = w[j + 1];
+            for (int i = from; i < to; i++) out[outOffset + i] += wj * column.get(base + i);
+        }
+    }
+
+    private static void rows(double[] w, double[] X, int offset, int stride,
+                             double[] out, int outOffset, int from, int to) {
+        int m = w.length - 1;
+        for (int i = from; i < to; i++) {
+            int base = offset + i * stride;
+            double s0 = w[0], s1 = 0, s2 = 0, s3 = 0;
+            int j = 0;
+            for (; j + 3 < m; j += 4) {
+                s0 += w[j + 1] * X[base + j];
+                s1 += w[j + 2] * X[base + j + 1];
+                s2 += w[j + 3] * X[base + j + 2];
+                s3 += w[j + 4] * X[base + j + 3];
+            }
+            for (; j < m; j++) s0 += w[j + 1] * X[base + j];
+            out[outOffset + i] = (s0 + s1) + (s2 + s3);
+        }
+    }
+
+    private static void rows(double[] w, DoubleBuffer X, int offset, int stride,
+                             double[] out, int outOffset, int from, int to) {
+        int m = w.length - 1;
+        for (int i = from; i < to; i++) {
+            int base = offset + i * stride;
+            double s0 = w[0], s1 = 0, s2 = 0, s3 = 0;
+            int j = 0;
+            for (; j + 3 < m; j += 4) {
+                s0 += w[j + 1] * X.get(base + j);
+                s1 += w[j + 2] * X.get(base + j + 1);
+                s2 += w[j + 3] * X.get(base + j + 2);
+                s3 += w[j + 4] * X.get(base + j + 3);
+            }
+            for (; j < m; j++) s0 += w[j + 1] * X.get(base + j);
+            out[outOffset + i] = (s0 + s1) + (s2 + s3);
+        }
+    }
+
+    private static void check(double[] w, int length, int offset, int rows, int stride, double[] out, int outOffset) {
+        int m = w.length - 1;
+        if (rows < 0 || offset < 0 || outOffset < 0)
+            throw new IllegalArgumentException("rows and offsets must be non-negative!");
+        if (stride < m)
+            throw new IllegalArgumentException("stride " + stride + " is smaller than the " + m + " features!");
+        if (rows > 0 && (long) offset + (long) (rows - 1) * stride + m > length)
+            throw new IllegalArgumentException("Buffer holds fewer than " + rows + " rows!");
+        if ((long) outOffset + rows > out.length)
+            throw new IllegalArgumentException("Output holds fewer than " + rows + " values!");
+    }
+
+    private interface RangeBody {
+        void run(int from, int to);
+    }
+
+    // Splits [from, to) in halves down to GRAIN-sized leaves
+    @SuppressWarnings("serial")
+    private static class RangeTask extends RecursiveAction {
+        private final RangeBody body;
+        private final int from, to;
+
+        RangeTask(RangeBody body, int from, int to) {
+            this.body = body;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= GRAIN) {
+                body.run(from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RangeTask(body, from, mid), new RangeTask(body, mid, to));
+        }
+    }
+}
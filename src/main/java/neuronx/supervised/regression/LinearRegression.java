@@ -1,39 +1,187 @@
 package neuronx.supervised.regression;
 
+import java.nio.DoubleBuffer;
 import java.util.*;
+import neuronx.utils.ParallelPool;
 
 public class LinearRegression {
 
+    public enum Optimizer { SGD, ADAGRAD, ADAM }
+
     private double[] weights; // [β0, β1, β2, ...]
     private boolean trained = false;
+    private final ParallelPool workers = new ParallelPool(); // common pool unless setParallelism() says otherwise
+
+    // Online (partialFit) settings
+    private static final int N_ITER_NO_CHANGE = 5;
+    private static final double ADAM_BETA1 = 0.9, ADAM_BETA2 = 0.999, EPSILON = 1e-8;
+    private Optimizer optimizer = Optimizer.ADAM;
+    private double learningRate = 0.01;
+    private double alpha = 0.0;   // L2 penalty, bias excluded
+    private int batchSize = 32;
+    private double tol = 1e-4;
+
+    // Online state, sized to weights and reused across calls
+    private double[] grad, moment1, moment2;
+    private long step;
+    private double lastLoss = Double.NaN, bestLoss = Double.POSITIVE_INFINITY;
+    private int noImprovement;
 
     // ===== 1️⃣ Fit model (Simple & Multiple Regression) =====
+    // One pass accumulates XᵀX and Xᵀy (bias included, row blocks spread over the pool),
+    // then β is solved by Cholesky.
+    // An ill-conditioned system (e.g. collinear features) is re-solved by pivoted QR on X.
     public void fit(double[][] X, double[] y) {
-        int n = X.length;
+        if (X.length == 0 || X.length != y.length)
+            throw new IllegalArgumentException("X and y must be non-empty and of equal length!");
+
+        NormalEquations normal = NormalEquations.of(X, y, workers.get());
+
+        double[] beta = normal.solveCholesky();
+        weights = beta != null ? beta : NormalEquations.leastSquares(X, y);
+        trained = true;
+        resetOnline(); // a following partialFit() warm-starts from this solution
+    }
+
+    // ===== 1️⃣b Online fit: one pass of mini-batch gradient descent =====
+    // Starts from zeros on the first call, or from the current weights (e.g. after fit(X, y)).
+    // Minimizes ½·MSE + ½·alpha·‖β₁..ₘ‖²; weights are updated in place.
+    public void partialFit(double[][] X, double[] y) {
+        if (X.length == 0 || X.length != y.length)
+            throw new IllegalArgumentException("X and y must be non-empty and of equal length!");
         int m = X[0].length;
+        if (weights == null) weights = new double[m + 1];
+        else if (weights.length != m + 1)
+            throw new IllegalArgumentException("Expected " + (weights.length - 1) + " features, got " + m + "!");
+        if (grad == null || grad.length != weights.length) allocateOnline();
+
+        double loss = 0;
+        for (int from = 0; from < X.length; from += batchSize) {
+            int to = Math.min(X.length, from + batchSize);
+            loss += gradient(X, y, from, to);
+            update();
+        }
+        lastLoss = loss / X.length;
 
-        // Add bias column
-        double[][] Xb = new double[n][m + 1];
-        for (int i = 0; i < n; i++) {
-            Xb[i][0] = 1.0;
-            for (int j = 0; j < m; j++) {
-                Xb[i][j + 1] = X[i][j];
+        // Converged once the loss has not improved by tol for N_ITER_NO_CHANGE calls in a row
+        if (lastLoss > bestLoss - tol) noImprovement++;
+        else noImprovement = 0;
+        bestLoss = Math.min(bestLoss, lastLoss);
+        trained = true;
+    }
+
+    // === Mean gradient of one batch into grad; returns the batch's summed squared error ===
+    private double gradient(double[][] X, double[] y, int from, int to) {
+        Arrays.fill(grad, 0);
+        double sse = 0;
+        int m = weights.length - 1;
+        for (int i = from; i < to; i++) {
+            double[] x = X[i];
+            if (x.length != m)
+                throw new IllegalArgumentException("Row has " + x.length + " features, expected " + m + "!");
+            double err = weights[0];
+            for (int j = 0; j < m; j++) err += weights[j + 1] * x[j];
+            err -= y[i];
+            sse += err * err;
+            grad[0] += err;
+            for (int j = 0; j < m; j++) grad[j + 1] += err * x[j];
+        }
+        double scale = 1.0 / (to - from);
+        grad[0] *= scale;
+        for (int j = 1; j < grad.length; j++) grad[j] = grad[j] * scale + alpha * weights[j];
+        return sse;
+    }
+
+    // === One optimizer step on weights ===
+    private void update() {
+        step++;
+        switch (optimizer) {
+            case SGD -> {
+                for (int j = 0; j < weights.length; j++) weights[j] -= learningRate * grad[j];
+            }
+            case ADAGRAD -> {
+                for (int j = 0; j < weights.length; j++) {
+                    moment2[j] += grad[j] * grad[j];
+                    weights[j] -= learningRate * grad[j] / (Math.sqrt(moment2[j]) + EPSILON);
+                }
+            }
+            case ADAM -> {
+                double c1 = 1 - Math.pow(ADAM_BETA1, step), c2 = 1 - Math.pow(ADAM_BETA2, step);
+                for (int j = 0; j < weights.length; j++) {
+                    moment1[j] = ADAM_BETA1 * moment1[j] + (1 - ADAM_BETA1) * grad[j];
+                    moment2[j] = ADAM_BETA2 * moment2[j] + (1 - ADAM_BETA2) * grad[j] * grad[j];
+                    weights[j] -= learningRate * (moment1[j] / c1) / (Math.sqrt(moment2[j] / c2) + EPSILON);
+                }
             }
         }
+    }
 
-        // Compute β = (XᵀX)⁻¹ Xᵀ y
-        double[][] Xt = transpose(Xb);
-        double[][] XtX = multiply(Xt, Xb);
-        double[][] XtX_inv = inverse(copyMatrix(XtX)); // Copy to avoid modifying
-        double[][] XtY = multiply(Xt, toColumnMatrix(y));
-        double[][] beta = multiply(XtX_inv, XtY);
+    private void allocateOnline() {
+        grad = new double[weights.length];
+        moment1 = new double[weights.length];
+        moment2 = new double[weights.length];
+        step = 0;
+    }
 
-        // Save weights
-        weights = new double[beta.length];
-        for (int i = 0; i < beta.length; i++)
-            weights[i] = beta[i][0];
+    // Optimizer state and convergence history start over (new weights or new settings)
+    private void resetOnline() {
+        if (grad != null) {
+            if (grad.length == weights.length) {
+                Arrays.fill(moment1, 0);
+                Arrays.fill(moment2, 0);
+                step = 0;
+            } else {
+                grad = null;
+            }
+        }
+        lastLoss = Double.NaN;
+        bestLoss = Double.POSITIVE_INFINITY;
+        noImprovement = 0;
+    }
 
-        trained = true;
+    // === Threads for XᵀX in fit(X, y) and for large flat-buffer predicts; results do not depend on it ===
+    public void setParallelism(int parallelism) {
+        workers.setParallelism(parallelism);
+    }
+
+    // === Online settings ===
+    public void setOptimizer(Optimizer optimizer, double learningRate) {
+        if (optimizer == null) throw new IllegalArgumentException("Optimizer must not be null!");
+        if (!(learningRate > 0)) throw new IllegalArgumentException("Learning rate must be positive!");
+        this.optimizer = optimizer;
+        this.learningRate = learningRate;
+        if (weights != null) resetOnline();
+    }
+
+    // === L2 penalty used by partialFit() only; the closed-form fit(X, y) is unpenalized (see RidgeRegression) ===
+    public void setAlpha(double alpha) {
+        if (!(alpha >= 0)) throw new IllegalArgumentException("alpha must be non-negative!");
+        this.alpha = alpha;
+    }
+
+    public void setBatchSize(int batchSize) {
+        if (batchSize <= 0) throw new IllegalArgumentException("Batch size must be positive!");
+        this.batchSize = batchSize;
+    }
+
+    public void setTolerance(double tol) {
+        if (!(tol >= 0)) throw new IllegalArgumentException("Tolerance must be non-negative!");
+        this.tol = tol;
+    }
+
+    // === True once partialFit() has stopped improving the loss ===
+    public boolean isConverged() {
+        return noImprovement >= N_ITER_NO_CHANGE;
+    }
+
+    // === Mean squared error seen during the last partialFit() call (before each batch update) ===
+    public double getLoss() {
+        return lastLoss;
+    }
+
+    public double[] getWeights() {
+        if (!trained) throw new IllegalStateException("Model not trained. Call fit() first.");
+        return weights.clone();
     }
 
     // ===== 2️⃣ Predict =====
@@ -53,6 +201,29 @@ public class LinearRegression {
         return preds;
     }
 
+    // === Predict rows of a flat row-major array into out, without allocating ===
+    // Row i is X[offset + i * stride ...]; batches of 32k+ rows are split over the pool
+    public void predict(double[] X, int offset, int rows, int stride, double[] out, int outOffset) {
+        if (!trained) throw new IllegalStateException("Model not trained. Call fit() first.");
+        LinearPredictor.predict(weights, X, offset, rows, stride, out, outOffset, workers.get());
+    }
+
+    public void predict(double[] X, int rows, int stride, double[] out) {
+        predict(X, 0, rows, stride, out, 0);
+    }
+
+    // === Same from a (possibly direct or mapped) buffer, starting at its position ===
+    public void predict(DoubleBuffer X, int rows, int stride, double[] out) {
+        if (!trained) throw new IllegalStateException("Model not trained. Call fit() first.");
+        LinearPredictor.predict(weights, X, rows, stride, out, 0, workers.get());
+    }
+
+    // === Column-major: one buffer per feature, e.g. MappedDataset.features() of a NEURONX file ===
+    public void predict(DoubleBuffer[] columns, int rows, double[] out) {
+        if (!trained) throw new IllegalStateException("Model not trained. Call fit() first.");
+        LinearPredictor.predict(weights, columns, rows, out, 0, workers.get());
+    }
+
     // ===== 3️⃣ Metrics =====
     public double mean_squared_error(double[] y_true, double[] y_pred) {
         double sum = 0;
@@ -73,66 +244,4 @@ public class LinearRegression {
         }
         return 1 - (ss_res / ss_tot);
     }
-
-    // ===== 4️⃣ Matrix Utilities =====
-    private static double[][] transpose(double[][] A) {
-        int r = A.length, c = A[0].length;
-        double[][] T = new double[c][r];
-        for (int i = 0; i < r; i++)
-            for (int j = 0; j < c; j++)
-                T[j][i] = A[i][j];
-        return T;
-    }
-
-    private static double[][] multiply(double[][] A, double[][] B) {
-        int r1 = A.length, c1 = A[0].length, c2 = B[0].length;
-        double[][] C = new double[r1][c2];
-        for (int i = 0; i < r1; i++)
-            for (int j = 0; j < c2; j++)
-                for (int k = 0; k < c1; k++)
-                    C[i][j] += A[i][k] * B[k][j];
-        return C;
-    }
-
-    private static double[][] toColumnMatrix(double[] y) {
-        double[][] col = new double[y.length][1];
-        for (int i = 0; i < y.length; i++)
-            col[i][0] = y[i];
-        return col;
-    }
-
-    private static double[][] copyMatrix(double[][] A) {
-        double[][] copy = new double[A.length][A[0].length];
-        for (int i = 0; i < A.length; i++)
-            System.arraycopy(A[i], 0, copy[i], 0, A[0].length);
-        return copy;
-    }
-
-    // ===== ✅ Stable Gauss–Jordan Inverse =====
-    private static double[][] inverse(double[][] A) {
-        int n = A.length;
-        double[][] I = new double[n][n];
-        for (int i = 0; i < n; i++) I[i][i] = 1.0;
-
-        for (int i = 0; i < n; i++) {
-            double diag = A[i][i];
-            if (Math.abs(diag) < 1e-12)
-                throw new ArithmeticException("Matrix not invertible (zero diagonal)");
-
-            for (int j = 0; j < n; j++) {
-                A[i][j] /= diag;
-                I[i][j] /= diag;
-            }
-
-            for (int k = 0; k < n; k++) {
-                if (k == i) continue;
-                double factor = A[k][i];
-                for (int j = 0; j < n; j++) {
-                    A[k][j] -= factor * A[i][j];
-                    I[k][j] -= factor * I[i][j];
-                }
-            }
-        }
-        return I;
-    }
 }
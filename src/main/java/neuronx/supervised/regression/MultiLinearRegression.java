@@ -1,36 +1,81 @@
 package neuronx.supervised.regression;
 
 import java.io.*;
+import java.nio.DoubleBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
 import java.util.*;
+import java.util.stream.Stream;
+import neuronx.utils.ParallelPool;
 
 public class MultiLinearRegression {
     private double[] weights; // includes bias term
     private boolean trained = false;
+    private final ParallelPool workers = new ParallelPool(); // common pool unless setParallelism() says otherwise
 
     // === Train Model using Ordinary Least Squares ===
+    // XᵀX and Xᵀy are accumulated in row blocks on the pool (see NormalEquations); the
+    // streaming fits below add the same rows one by one and agree up to rounding
     public void fit(double[][] X, double[] y) {
-        int n = X.length;       // samples
-        int m = X[0].length;    // features
-
-        // Add bias column (X0 = 1)
-        double[][] Xb = new double[n][m + 1];
-        for (int i = 0; i < n; i++) {
-            Xb[i][0] = 1.0; // bias term
-            System.arraycopy(X[i], 0, Xb[i], 1, m);
+        if (X.length == 0 || X.length != y.length)
+            throw new IllegalArgumentException("X and y must be non-empty and of equal length!");
+
+        NormalEquations normal = NormalEquations.of(X, y, workers.get());
+        finish(normal);
+    }
+
+    // === Streaming fit from a CSV file (header line, features..., label last) ===
+    // One pass, memory bounded by the (m+1)² system regardless of file size
+    public void fit(String csvPath) throws IOException {
+        NormalEquations normal = null;
+        double[] row = null;
+        try (BufferedReader br = Files.newBufferedReader(Paths.get(csvPath), StandardCharsets.UTF_8)) {
+            String line = br.readLine(); // skip header
+            int lineNo = 1;
+            while ((line = br.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank()) continue;
+                String[] values = line.split(",");
+                if (normal == null) {
+                    normal = newSystem(values.length);
+                    row = new double[values.length];
+                }
+                if (values.length != normal.p)
+                    throw new IOException("Line " + lineNo + " has " + values.length + " columns, expected " + normal.p);
+
+                for (int i = 0; i < row.length; i++) row[i] = Double.parseDouble(values[i].trim());
+                normal.addLabeled(row);
+            }
         }
+        if (normal == null) throw new IOException("No data rows in " + csvPath);
+        finish(normal);
+    }
 
-        // Compute (Xᵀ * X)
-        double[][] XtX = multiply(transpose(Xb), Xb);
+    // === Streaming fit from rows laid out as [features..., label] ===
+    public void fit(Stream<double[]> rows) {
+        NormalEquations[] normal = new NormalEquations[1];
+        rows.forEachOrdered(row -> {
+            if (normal[0] == null) normal[0] = newSystem(row.length);
+            normal[0].addLabeled(row);
+        });
+        if (normal[0] == null) throw new IllegalArgumentException("No rows to fit!");
+        finish(normal[0]);
+    }
 
-        // Compute (Xᵀ * y)
-        double[] Xty = multiply(transpose(Xb), y);
+    // === Threads for XᵀX in fit(X, y) and for large flat-buffer predicts; results do not depend on it ===
+    public void setParallelism(int parallelism) {
+        workers.setParallelism(parallelism);
+    }
 
-        // Compute weights = (Xᵀ * X)^(-1) * (Xᵀ * y)
-        double[][] XtX_inv = invert(XtX);
-        weights = multiply(XtX_inv, Xty);
+    private static NormalEquations newSystem(int columns) {
+        if (columns < 2) throw new IllegalArgumentException("Rows need at least one feature and a label!");
+        return new NormalEquations(columns - 1);
+    }
 
+    private void finish(NormalEquations normal) {
+        weights = normal.solve();
         trained = true;
-        System.out.println("✅ Model trained with " + m + " features");
+        System.out.println("✅ Model trained with " + (normal.p - 1) + " features");
         System.out.println("Weights: " + Arrays.toString(weights));
     }
 
@@ -49,6 +94,29 @@ public class MultiLinearRegression {
         return preds;
     }
 
+    // === Predict rows of a flat row-major array into out, without allocating ===
+    // Row i is X[offset + i * stride ...]; batches of 32k+ rows are split over the pool
+    public void predict(double[] X, int offset, int rows, int stride, double[] out, int outOffset) {
+        if (!trained) throw new IllegalStateException("Model not trained yet!");
+        LinearPredictor.predict(weights, X, offset, rows, stride, out, outOffset, workers.get());
+    }
+
+    public void predict(double[] X, int rows, int stride, double[] out) {
+        predict(X, 0, rows, stride, out, 0);
+    }
+
+    // === Same from a (possibly direct or mapped) buffer, starting at its position ===
+    public void predict(DoubleBuffer X, int rows, int stride, double[] out) {
+        if (!trained) throw new IllegalStateException("Model not trained yet!");
+        LinearPredictor.predict(weights, X, rows, stride, out, 0, workers.get());
+    }
+
+    // === Column-major: one buffer per feature, e.g. MappedDataset.features() of a NEURONX file ===
+    public void predict(DoubleBuffer[] columns, int rows, double[] out) {
+        if (!trained) throw new IllegalStateException("Model not trained yet!");
+        LinearPredictor.predict(weights, columns, rows, out, 0, workers.get());
+    }
+
     // === Mean Squared Error ===
     public double meanSquaredError(double[] y_true, double[] y_pred) {
         double sum = 0;
@@ -68,60 +136,6 @@ public class MultiLinearRegression {
         return 1 - (ssRes / ssTot);
     }
 
-    // === Utility Methods ===
-    private double[][] transpose(double[][] A) {
-        double[][] T = new double[A[0].length][A.length];
-        for (int i = 0; i < A.length; i++)
-            for (int j = 0; j < A[0].length; j++)
-                T[j][i] = A[i][j];
-        return T;
-    }
-
-    private double[][] multiply(double[][] A, double[][] B) {
-        double[][] C = new double[A.length][B[0].length];
-        for (int i = 0; i < A.length; i++)
-            for (int j = 0; j < B[0].length; j++)
-                for (int k = 0; k < B.length; k++)
-                    C[i][j] += A[i][k] * B[k][j];
-        return C;
-    }
-
-    private double[] multiply(double[][] A, double[] x) {
-        double[] result = new double[A.length];
-        for (int i = 0; i < A.length; i++)
-            for (int j = 0; j < x.length; j++)
-                result[i] += A[i][j] * x[j];
-        return result;
-    }
-
-    private double[][] invert(double[][] A) {
-        int n = A.length;
-        double[][] X = new double[n][n];
-        double[][] B = new double[n][n];
-        for (int i = 0; i < n; i++) {
-            B[i][i] = 1;
-            System.arraycopy(A[i], 0, X[i], 0, n);
-        }
-
-        for (int i = 0; i < n; i++) {
-            double diag = X[i][i];
-            for (int j = 0; j < n; j++) {
-                X[i][j] /= diag;
-                B[i][j] /= diag;
-            }
-            for (int k = 0; k < n; k++) {
-                if (k != i) {
-                    double factor = X[k][i];
-                    for (int j = 0; j < n; j++) {
-                        X[k][j] -= factor * X[i][j];
-                        B[k][j] -= factor * B[i][j];
-                    }
-                }
-            }
-        }
-        return B;
-    }
-
     // === Load CSV ===
     public static double[][] loadFeatures(String csvPath) throws IOException {
         List<double[]> X = new ArrayList<>();
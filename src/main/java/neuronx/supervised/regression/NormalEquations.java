@@ -0,0 +1,235 @@
+package neuronx.supervised.regression;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import neuronx.linalg.Blas;
+import neuronx.linalg.Cholesky;
+import neuronx.linalg.DenseMatrix;
+import neuronx.linalg.QR;
+
+/**
+ * NormalEquations - One-pass accumulator for the least-squares system XᵀX β = Xᵀy.
+ *
+ * Rows are added one at a time with an implicit leading 1 (the bias column), so the data is
+ * never copied or transposed as a whole: rows are staged in a small [1 | x] panel that is folded
+ * into the upper triangle of the (m+1)×(m+1) Gram matrix by a register-tiled SYRK once full.
+ *
+ * solveCholesky() returns null when the Gram matrix is not positive definite or badly
+ * conditioned (collinear or constant features). The condition test runs on the equilibrated
+ * matrix D XᵀX D with D = diag(XᵀX)^(-1/2), so features on very different scales (or just
+ * large values) do not count as ill-conditioned. Callers that still hold the rows then use
+ * leastSquares(X, y), a column-pivoted Householder QR of X itself; solve() (rows already gone)
+ * falls back to the same pivoted QR applied to XᵀX. Either way dependent directions are
+ * dropped and a basic least-squares solution is returned.
+ *
+ * of(X, y, pool) accumulates fixed blocks of ROW_BLOCK rows into separate partial systems and
+ * merges them pairwise. The blocks and the merge tree depend only on the row count, so the
+ * result is bit-for-bit the same on one thread or many.
+ *
+ * An optional shift (e.g. column means) is subtracted from every row and target as it is
+ * staged, which gives the centered system without a cancellation-prone correction afterwards.
+ */
+final class NormalEquations {
+
+    static final int ROW_BLOCK = 4096;
+    private static final int PANEL_ROWS = 128; // rows staged per SYRK call
+
+    // Cholesky is rejected when (min Lii / max Lii)² of the equilibrated Gram matrix falls below
+    // this (≈ 1 / condition number)
+    static final double MIN_RCOND = 1e-12;
+
+    final int p;                   // features + 1
+    private final double[] gram;   // p × p row-major, upper triangle filled
+    private final double[] xty;    // length p
+    double yy;                     // Σ y², for residual sums
+    long count;
+
+    private final double[] shift;  // subtracted from x, or null
+    private final double yShift;   // subtracted from y
+
+    private final double[] panel;  // staged rows [1, x...], PANEL_ROWS × p
+    private final double[] panelY;
+    private int staged;
+
+    NormalEquations(int features) {
+        this(features, null, 0);
+    }
+
+    NormalEquations(int features, double[] shift, double yShift) {
+        if (features <= 0) throw new IllegalArgumentException("Need at least one feature!");
+        if (shift != null && shift.length != features)
+            throw new IllegalArgumentException("Shift has " + shift.length + " values, expected " + features);
+        this.shift = shift;
+        this.yShift = yShift;
+        this.p = features + 1;
+        this.gram = new double[p * p];
+        this.xty = new double[p];
+        this.panel = new double[PANEL_ROWS * p];
+        this.panelY = new double[PANEL_ROWS];
+    }
+
+    // === Add one row x (without the bias) with target y ===
+    void add(double[] x, double y) {
+        if (x.length != p - 1)
+            throw new IllegalArgumentException("Row has " + x.length + " features, expected " + (p - 1));
+        stage(x, y);
+    }
+
+    // === Add one row laid out as [features..., label] ===
+    void addLabeled(double[] row) {
+        if (row.length != p)
+            throw new IllegalArgumentException("Row has " + row.length + " values, expected " + p);
+        stage(row, row[p - 1]);
+    }
+
+    // Copies x[0, p - 1) behind the bias into the panel
+    private void stage(double[] x, double y) {
+        int off = staged * p;
+        panel[off] = 1.0;
+        if (shift == null) {
+            System.arraycopy(x, 0, panel, off + 1, p - 1);
+        } else {
+            for (int j = 1; j < p; j++) panel[off + j] = x[j - 1] - shift[j - 1];
+            y -= yShift;
+        }
+        panelY[staged] = y;
+        yy += y * y;
+        count++;
+        if (++staged == PANEL_ROWS) flush();
+    }
+
+    // Fold the staged rows into XᵀX and Xᵀy
+    private void flush() {
+        if (staged == 0) return;
+        Blas.syrk(staged, p, panel, gram);
+        Blas.gemvTransposed(staged, p, panel, panelY, xty);
+        staged = 0;
+    }
+
+    // === Add another partial system over the same features ===
+    void merge(NormalEquations other) {
+        if (other.p != p)
+            throw new IllegalArgumentException("Cannot merge systems with " + (other.p - 1) + " and " + (p - 1) + " features!");
+        flush();
+        other.flush();
+        for (int a = 0; a < p; a++) {
+            int row = a * p;
+            for (int b = a; b < p; b++) gram[row + b] += other.gram[row + b];
+            xty[a] += other.xty[a];
+        }
+        yy += other.yy;
+        count += other.count;
+    }
+
+    // === XᵀX / Xᵀy over all rows: row blocks summed in a fixed pairwise order ===
+    // pool == null runs every block on the calling thread
+    static NormalEquations of(double[][] X, double[] y, ForkJoinPool pool) {
+        return of(X, y, null, 0, pool);
+    }
+
+    // === Same over the shifted rows x - shift, y - yShift ===
+    static NormalEquations of(double[][] X, double[] y, double[] shift, double yShift, ForkJoinPool pool) {
+        int blocks = (X.length + ROW_BLOCK - 1) / ROW_BLOCK;
+        BlockSum task = new BlockSum(X, y, shift, yShift, 0, blocks);
+        return pool == null || blocks == 1 ? task.compute() : pool.invoke(task);
+    }
+
+    // Sums blocks [from, to); halves are forked only when running inside a pool
+    @SuppressWarnings("serial")
+    private static class BlockSum extends RecursiveTask<NormalEquations> {
+        private final double[][] X;
+        private final double[] y;
+        private final double[] shift;
+        private final double yShift;
+        private final int from, to;
+
+        BlockSum(double[][] X, double[] y, double[] shift, double yShift, int from, int to) {
+            this.X = X;
+            this.y = y;
+            this.shift = shift;
+            this.yShift = yShift;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected NormalEquations compute() {
+            if (to - from == 1) {
+                NormalEquations normal = new NormalEquations(X[0].length, shift, yShift);
+                int end = Math.min(X.length, to * ROW_BLOCK);
+                for (int i = from * ROW_BLOCK; i < end; i++) normal.add(X[i], y[i]);
+                return normal;
+            }
+            int mid = (from + to) >>> 1;
+            BlockSum left = new BlockSum(X, y, shift, yShift, from, mid);
+            BlockSum right = new BlockSum(X, y, shift, yShift, mid, to);
+            NormalEquations sum;
+            if (inForkJoinPool()) {
+                left.fork();
+                NormalEquations r = right.compute();
+                sum = left.join();
+                sum.merge(r);
+            } else {
+                sum = left.compute();
+                sum.merge(right.compute());
+            }
+            return sum;
+        }
+    }
+
+    // === β = (XᵀX)⁻¹ Xᵀy without forming an inverse ===
+    double[] solve() {
+        double[] beta = solveCholesky();
+        return beta != null ? beta : QR.leastSquaresInPlace(gramMatrix(), xty());
+    }
+
+    // === Cholesky only; null when XᵀX is singular or ill-conditioned ===
+    // Solves (D G D) z = D b and returns β = D z, D = diag(G)^(-1/2): same solution, scale-free rcond
+    double[] solveCholesky() {
+        if (count == 0) throw new IllegalStateException("No rows were added!");
+        DenseMatrix G = gramMatrix();
+        double[] A = G.data();
+        double[] d = new double[p];
+        for (int a = 0; a < p; a++) {
+            double diag = A[a * p + a];
+            if (!(diag > 0) || Double.isInfinite(diag)) return null; // all-zero (or overflowing) column
+            d[a] = 1 / Math.sqrt(diag);
+        }
+        for (int a = 0; a < p; a++)
+            for (int b = 0; b < p; b++) A[a * p + b] *= d[a] * d[b];
+
+        Cholesky cholesky = new Cholesky(G);
+        if (!cholesky.isPositiveDefinite() || cholesky.rcond() < MIN_RCOND) return null;
+        double[] b = xty();
+        for (int a = 0; a < p; a++) b[a] *= d[a];
+        double[] beta = cholesky.solve(b);
+        for (int a = 0; a < p; a++) beta[a] *= d[a];
+        return beta;
+    }
+
+    // === Least squares straight from the rows: pivoted QR of [1 | X] ===
+    static double[] leastSquares(double[][] X, double[] y) {
+        int n = X.length, p = X[0].length + 1;
+        double[] A = new double[n * p];
+        for (int i = 0; i < n; i++) {
+            A[i * p] = 1.0;
+            System.arraycopy(X[i], 0, A, i * p + 1, p - 1);
+        }
+        return QR.leastSquaresInPlace(new DenseMatrix(n, p, A), y);
+    }
+
+    // === Full symmetric copy of XᵀX (p × p, small) ===
+    DenseMatrix gramMatrix() {
+        flush();
+        double[] A = Arrays.copyOf(gram, gram.length);
+        Blas.symmetrize(p, A);
+        return new DenseMatrix(p, p, A);
+    }
+
+    // === Copy of Xᵀy ===
+    double[] xty() {
+        flush();
+        return xty.clone();
+    }
+}
@@ -0,0 +1,269 @@
+package neuronx.supervised.regression;
+
+import java.nio.DoubleBuffer;
+import java.util.*;
+import neuronx.linalg.DenseMatrix;
+import neuronx.linalg.SymmetricEigen;
+import neuronx.utils.ParallelPool;
+
+/**
+ * RidgeRegression - L2-regularized least squares with a cheap regularization path.
+ *
+ * fit() centers X and y (the intercept is not penalized), accumulates the centered XᵀX once
+ * (see NormalEquations) and eigendecomposes it: XcᵀXc = V·diag(λ)·Vᵀ. For any alpha the weights
+ * are then β(α) = V·diag(1 / (λ + α))·Vᵀ·Xcᵀyc, an O(m²) step, so setAlpha() and a whole path
+ * of alphas cost about as much as one fit.
+ *
+ * fitPath() also scores every alpha by exact leave-one-out error without refitting. Ridge is a
+ * linear smoother ŷ = H·y, so the LOO residual of row i is eᵢ / (1 - Hᵢᵢ), with
+ * Hᵢᵢ = 1/n + Σₖ uᵢₖ² / (λₖ + α) and uᵢ = Vᵀ(xᵢ - x̄): one more pass over the rows.
+ */
+public class RidgeRegression {
+
+    private double alpha;
+    private double[] weights; // [β0, β1, β2, ...]
+    private boolean trained = false;
+    private final ParallelPool workers = new ParallelPool(); // common pool unless setParallelism() says otherwise
+
+    // Decomposition of the last fit, reused by setAlpha()
+    private int features;
+    private double[] mean;
+    private double yMean;
+    private double[] eigenvalues;
+    private double[] vectors;   // m × m row-major, eigenvectors in columns
+    private double[] projected; // Vᵀ Xcᵀ yc
+    private double cutoff;      // λ + α at or below this is treated as 0 (pseudo-inverse)
+
+    // Results of the last fitPath()
+    private double[] alphas;
+    private double[][] coefPath;
+    private double[] looErrors;
+
+    public RidgeRegression() {
+        this(1.0);
+    }
+
+    public RidgeRegression(double alpha) {
+        checkAlpha(alpha);
+        this.alpha = alpha;
+    }
+
+    // ===== 1️⃣ Fit model for the current alpha =====
+    public void fit(double[][] X, double[] y) {
+        decompose(X, y);
+        weights = weightsFor(alpha);
+        alphas = null;
+        coefPath = null;
+        looErrors = null;
+        trained = true;
+    }
+
+    // ===== 2️⃣ Fit a whole alpha path and keep the alpha with the lowest LOO error =====
+    public void fitPath(double[][] X, double[] y, double[] alphas) {
+        if (alphas == null || alphas.length == 0) throw new IllegalArgumentException("Need at least one alpha!");
+        for (double a : alphas) checkAlpha(a);
+        decompose(X, y);
+
+        this.alphas = alphas.clone();
+        this.coefPath = new double[alphas.length][];
+        for (int a = 0; a < alphas.length; a++) coefPath[a] = weightsFor(alphas[a]);
+        this.looErrors = leaveOneOut(X, y, alphas);
+
+        int best = 0;
+        for (int a = 1; a < alphas.length; a++) if (looErrors[a] < looErrors[best]) best = a;
+        alpha = alphas[best];
+        weights = coefPath[best].clone();
+        trained = true;
+    }
+
+    // === Change alpha; a fitted model is re-solved from the stored decomposition ===
+    public void setAlpha(double alpha) {
+        checkAlpha(alpha);
+        this.alpha = alpha;
+        if (eigenvalues != null) weights = weightsFor(alpha);
+    }
+
+    public double getAlpha() {
+        return alpha;
+    }
+
+    // === Threads for XᵀX in fit() and for large flat-buffer predicts; results do not depend on it ===
+    public void setParallelism(int parallelism) {
+        workers.setParallelism(parallelism);
+    }
+
+    // ===== 3️⃣ Predict =====
+    public double predict(double[] x) {
+        if (!trained) throw new IllegalStateException("Model not trained. Call fit() first.");
+        if (x.length != features)
+            throw new IllegalArgumentException("Expected " + features + " features, got " + x.length + "!");
+        double y_pred = weights[0];
+        for (int j = 0; j < x.length; j++) y_pred += weights[j + 1] * x[j];
+        return y_pred;
+    }
+
+    public double[] predict(double[][] X) {
+        double[] preds = new double[X.length];
+        for (int i = 0; i < X.length; i++) preds[i] = predict(X[i]);
+        return preds;
+    }
+
+    // === Predict rows of a flat row-major array into out, without allocating ===
+    // Row i is X[offset + i * stride ...]; batches of 32k+ rows are split over the pool
+    public void predict(double[] X, int offset, int rows, int stride, double[] out, int outOffset) {
+        if (!trained) throw new IllegalStateException("Model not trained. Call fit() first.");
+        LinearPredictor.predict(weights, X, offset, rows, stride, out, outOffset, workers.get());
+    }
+
+    public void predict(double[] X, int rows, int stride, double[] out) {
+        predict(X, 0, rows, stride, out, 0);
+    }
+
+    // === Same from a (possibly direct or mapped) buffer, starting at its position ===
+    public void predict(DoubleBuffer X, int rows, int stride, double[] out) {
+        if (!trained) throw new IllegalStateException("Model not trained. Call fit() first.");
+        LinearPredictor.predict(weights, X, rows, stride, out, 0, workers.get());
+    }
+
+    // === Column-major: one buffer per feature, e.g. MappedDataset.features() of a NEURONX file ===
+    public void predict(DoubleBuffer[] columns, int rows, double[] out) {
+        if (!trained) throw new IllegalStateException("Model not trained. Call fit() first.");
+        LinearPredictor.predict(weights, columns, rows, out, 0, workers.get());
+    }
+
+    public double[] getWeights() {
+        if (!trained) throw new IllegalStateException("Model not trained. Call fit() first.");
+        return weights.clone();
+    }
+
+    // === Path results: coefficients [β0, β1, ...] per alpha and LOO mean squared error per alpha ===
+    public double[][] getCoefPath() {
+        if (coefPath == null) throw new IllegalStateException("No path computed. Call fitPath() first.");
+        double[][] copy = new double[coefPath.length][];
+        for (int a = 0; a < coefPath.length; a++) copy[a] = coefPath[a].clone();
+        return copy;
+    }
+
+    public double[] getLooErrors() {
+        if (looErrors == null) throw new IllegalStateException("No path computed. Call fitPath() first.");
+        return looErrors.clone();
+    }
+
+    public double[] getAlphas() {
+        if (alphas == null) throw new IllegalStateException("No path computed. Call fitPath() first.");
+        return alphas.clone();
+    }
+
+    // === num alphas spaced evenly on a log scale from 10^fromExp to 10^toExp ===
+    public static double[] logspace(double fromExp, double toExp, int num) {
+        if (num <= 0) throw new IllegalArgumentException("num must be positive!");
+        double[] out = new double[num];
+        for (int i = 0; i < num; i++) {
+            double t = num == 1 ? 0 : (double) i / (num - 1);
+            out[i] = Math.pow(10, fromExp + t * (toExp - fromExp));
+        }
+        return out;
+    }
+
+    // === Center, accumulate XcᵀXc / Xcᵀyc, eigendecompose ===
+    private void decompose(double[][] X, double[] y) {
+        if (X.length == 0 || X.length != y.length)
+            throw new IllegalArgumentException("X and y must be non-empty and of equal length!");
+        int n = X.length, m = X[0].length;
+
+        mean = new double[m];
+        yMean = 0;
+        for (int i = 0; i < n; i++) {
+            if (X[i].length != m) throw new IllegalArgumentException("All samples must have the same number of features!");
+            for (int j = 0; j < m; j++) mean[j] += X[i][j];
+            yMean += y[i];
+        }
+        for (int j = 0; j < m; j++) mean[j] /= n;
+        yMean /= n;
+
+        NormalEquations normal = NormalEquations.of(X, y, mean, yMean, workers.get());
+        DenseMatrix gram = normal.gramMatrix();
+        double[] xty = normal.xty();
+
+        // Drop the bias row and column (all ~0 after centering)
+        DenseMatrix centered = new DenseMatrix(m, m);
+        for (int a = 0; a < m; a++)
+            System.arraycopy(gram.data(), (a + 1) * (m + 1) + 1, centered.data(), a * m, m);
+        SymmetricEigen eigen = new SymmetricEigen(centered);
+
+        features = m;
+        eigenvalues = eigen.getEigenvalues();
+        vectors = eigen.getEigenvectors().data();
+        double largest = Math.max(eigenvalues[m - 1], 0);
+        cutoff = largest * m * Math.ulp(1.0);
+        for (int k = 0; k < m; k++) eigenvalues[k] = Math.max(eigenvalues[k], 0); // rounding below 0
+
+        projected = new double[m];
+        for (int j = 0; j < m; j++) {
+            double c = xty[j + 1];
+            for (int k = 0; k < m; k++) projected[k] += vectors[j * m + k] * c;
+        }
+    }
+
+    // 1 / (λₖ + α), or 0 for directions with no data and no penalty
+    private double[] shrinkage(double alpha) {
+        double[] s = new double[features];
+        for (int k = 0; k < features; k++) {
+            double denom = eigenvalues[k] + alpha;
+            s[k] = denom > cutoff ? 1.0 / denom : 0.0;
+        }
+        return s;
+    }
+
+    private double[] weightsFor(double alpha) {
+        int m = features;
+        double[] s = shrinkage(alpha);
+        double[] w = new double[m + 1];
+        double intercept = yMean;
+        for (int j = 0; j < m; j++) {
+            double beta = 0;
+            for (int k = 0; k < m; k++) beta += vectors[j * m + k] * s[k] * projected[k];
+            w[j + 1] = beta;
+            intercept -= mean[j] * beta;
+        }
+        w[0] = intercept;
+        return w;
+    }
+
+    // === Exact LOO mean squared error per alpha from the hat-matrix diagonal ===
+    private double[] leaveOneOut(double[][] X, double[] y, double[] alphas) {
+        int n = X.length, m = features;
+        double[][] shrink = new double[alphas.length][];
+        for (int a = 0; a < alphas.length; a++) shrink[a] = shrinkage(alphas[a]);
+
+        double[] sse = new double[alphas.length];
+        double[] u = new double[m];
+        for (int i = 0; i < n; i++) {
+            // u = Vᵀ (x - x̄), accumulated row by row of V
+            Arrays.fill(u, 0);
+            for (int j = 0; j < m; j++) {
+                double c = X[i][j] - mean[j];
+                int row = j * m;
+                for (int k = 0; k < m; k++) u[k] += vectors[row + k] * c;
+            }
+            double yc = y[i] - yMean;
+            for (int a = 0; a < alphas.length; a++) {
+                double[] s = shrink[a];
+                double fit = 0, h = 1.0 / n;
+                for (int k = 0; k < m; k++) {
+                    double t = u[k] * s[k];
+                    fit += t * projected[k];
+                    h += t * u[k];
+                }
+                double r = (yc - fit) / Math.max(1 - h, Double.MIN_NORMAL);
+                sse[a] += r * r;
+            }
+        }
+        for (int a = 0; a < alphas.length; a++) sse[a] /= n;
+        return sse;
+    }
+
+    private static void checkAlpha(double alpha) {
+        if (!(alpha >= 0) || Double.isInfinite(alpha)) throw new IllegalArgumentException("alpha must be non-negative and finite!");
+    }
+}
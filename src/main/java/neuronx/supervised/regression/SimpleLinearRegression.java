@@ -2,37 +2,82 @@ package neuronx.supervised.regression;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import neuronx.utils.ParallelPool;
 
 public class SimpleLinearRegression {
 
     private double slope;      // β1
     private double intercept;  // β0
     private boolean trained = false;
+    private final BivariateMoments moments = new BivariateMoments(); // every pair seen so far
+    private final ParallelPool workers = new ParallelPool(); // common pool unless setParallelism() says otherwise
 
     // === Train the model ===
+    // Means and co-moments come from mergeable Welford/Chan accumulators over blocks of the
+    // arrays (in parallel for large inputs), not from raw Σx² and Σxy
     public void fit(double[] X_train, double[] y_train) {
         if (X_train.length != y_train.length) {
             throw new IllegalArgumentException("X and y must have the same length!");
         }
 
-        int n = X_train.length;
-        double sumX = 0, sumY = 0, sumXY = 0, sumXX = 0;
+        ForkJoinPool fitPool = X_train.length > BivariateMoments.BLOCK ? workers.get() : null;
+        BivariateMoments fitted = BivariateMoments.of(X_train, y_train, fitPool);
+        // Checked before anything is replaced, so a rejected fit leaves a trained model as it was
+        if (!hasSpread(fitted)) throw new IllegalArgumentException("X must contain at least two distinct values!");
+        moments.copyFrom(fitted);
+        update();
+        System.out.println("✅ Model trained successfully (slope=" + slope + ", intercept=" + intercept + ")");
+    }
 
-        for (int i = 0; i < n; i++) {
-            sumX += X_train[i];
-            sumY += y_train[i];
-            sumXY += X_train[i] * y_train[i];
-            sumXX += X_train[i] * X_train[i];
+    // === Add one more chunk of data to the model (streaming) ===
+    // The model is usable once the pairs seen so far have two distinct x values
+    public void partialFit(double[] X_chunk, double[] y_chunk) {
+        if (X_chunk.length != y_chunk.length) {
+            throw new IllegalArgumentException("X and y must have the same length!");
         }
+        moments.add(X_chunk, y_chunk, 0, X_chunk.length);
+        update();
+    }
 
-        double meanX = sumX / n;
-        double meanY = sumY / n;
+    // === Fold in a model trained on another shard: same result as fitting on both shards ===
+    public void merge(SimpleLinearRegression other) {
+        if (other == this) throw new IllegalArgumentException("Cannot merge a model with itself!");
+        moments.merge(other.moments);
+        update();
+    }
 
-        slope = (sumXY - n * meanX * meanY) / (sumXX - n * meanX * meanX);
-        intercept = meanY - slope * meanX;
+    // === Threads used by fit(); the result does not depend on it ===
+    public void setParallelism(int parallelism) {
+        workers.setParallelism(parallelism);
+    }
+
+    public double getSlope() {
+        if (!trained) throw new IllegalStateException("Model not trained. Call fit() first.");
+        return slope;
+    }
 
+    public double getIntercept() {
+        if (!trained) throw new IllegalStateException("Model not trained. Call fit() first.");
+        return intercept;
+    }
+
+    // === Number of pairs the model was fit on ===
+    public long getCount() {
+        return moments.count;
+    }
+
+    // Coefficients from the current moments; false while x has no spread yet
+    private boolean update() {
+        if (!hasSpread(moments)) return trained = false;
+        slope = moments.cxy / moments.m2x;
+        intercept = moments.meanY - slope * moments.meanX;
         trained = true;
-        System.out.println("✅ Model trained successfully (slope=" + slope + ", intercept=" + intercept + ")");
+        return true;
+    }
+
+    private static boolean hasSpread(BivariateMoments m) {
+        return m.count >= 2 && m.m2x > 0;
     }
 
     // === Predict single value ===
@@ -0,0 +1,77 @@
+package neuronx.unsupervised.clustering;
+
+import java.util.List;
+import neuronx.neighbors.DistanceKernel;
+import neuronx.neighbors.IntList;
+import neuronx.neighbors.RadiusIndex;
+
+/**
+ * CoreIndex - Immutable lookup structure over the core points of a fitted DBSCAN model.
+ *
+ * Holds only the core rows (flat, row-major), their cluster ids as a primitive array and a
+ * spatial index over them. A sample belongs to the cluster of its nearest core point within
+ * eps, otherwise it is noise. Safe to query from many threads.
+ */
+final class CoreIndex {
+
+    private static final DistanceKernel KERNEL = DistanceKernel.get();
+    private static final int NOISE = -1;
+
+    private final double[] rows;
+    private final int[] labels;
+    private final int size;
+    private final int dim;
+    private final double epsSq;
+    private final RadiusIndex index; // null = scan the core rows
+    private final ThreadLocal<IntList> scratch = ThreadLocal.withInitial(IntList::new);
+
+    CoreIndex(List<double[]> X, boolean[] core, int[] pointLabels, double eps, DBSCAN.Index indexType) {
+        int count = 0;
+        for (boolean c : core) if (c) count++;
+        this.size = count;
+        this.dim = X.isEmpty() ? 0 : X.get(0).length;
+        this.epsSq = eps * eps;
+        this.rows = new double[size * dim];
+        this.labels = new int[size];
+
+        int k = 0;
+        for (int i = 0; i < core.length; i++) {
+            if (!core[i]) continue;
+            System.arraycopy(X.get(i), 0, rows, k * dim, dim);
+            labels[k++] = pointLabels[i];
+        }
+        this.index = DBSCAN.newIndex(indexType, rows, size, dim, eps);
+    }
+
+    // === Cluster of the nearest core point within eps (ties to the lowest index), or noise ===
+    int predict(double[] sample) {
+        if (size == 0) return NOISE;
+        if (sample.length < dim)
+            throw new IllegalArgumentException("Sample has " + sample.length + " features, expected " + dim);
+
+        double minDist = Double.MAX_VALUE;
+        int nearest = Integer.MAX_VALUE;
+        if (index == null) {
+            for (int k = 0; k < size; k++) {
+                double dist = KERNEL.squaredDistance(sample, 0, rows, k * dim, dim);
+                if (dist <= epsSq && dist < minDist) {
+                    minDist = dist;
+                    nearest = k;
+                }
+            }
+        } else {
+            IntList found = scratch.get();
+            found.clear();
+            index.radius(sample, epsSq, found);
+            for (int p = 0; p < found.size(); p++) {
+                int k = found.get(p);
+                double dist = KERNEL.squaredDistance(sample, 0, rows, k * dim, dim);
+                if (dist < minDist || (dist == minDist && k < nearest)) {
+                    minDist = dist;
+                    nearest = k;
+                }
+            }
+        }
+        return nearest == Integer.MAX_VALUE ? NOISE : labels[nearest];
+    }
+}
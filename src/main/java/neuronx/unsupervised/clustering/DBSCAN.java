@@ -1,6 +1,15 @@
 package neuronx.unsupervised.clustering;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import neuronx.neighbors.DistanceKernel;
+import neuronx.neighbors.GridIndex;
+import neuronx.neighbors.IntList;
+import neuronx.neighbors.KDTree;
+import neuronx.neighbors.RadiusIndex;
+import neuronx.utils.ParallelPool;
 
 /**
  * DBSCAN - Density-Based Spatial Clustering of Applications with Noise
@@ -9,53 +18,253 @@ import java.util.*;
  * Similar to sklearn's DBSCAN:
  * - eps: neighborhood radius
  * - minPts: minimum points required to form a dense region
+ *
+ * Distances are compared in squared space (against eps * eps) through the shared DistanceKernel.
+ *
+ * fit() first builds a neighborhood index so each eps-query only looks at nearby points:
+ * - GRID: uniform grid with cell size eps (low-dimensional data)
+ * - KD_TREE: KD-tree radius search (higher dimensions)
+ * - BRUTE: scan every point
+ * - AUTO (default): GRID up to 3 features when the data fits the grid, otherwise KD_TREE
+ * Labels are identical for every choice.
+ *
+ * The sequential fit allocates nothing per query: neighbor lists go into reusable int buffers,
+ * the BFS frontier is an int ring queue, and a BitSet makes sure each point is enqueued once.
+ *
+ * setParallelism(p > 1) switches large fits to a multi-threaded algorithm: one parallel region
+ * query per point gives the core flags, core points are merged with a lock-free union-find whose
+ * roots are each component's lowest index, and border points join the core neighbor component
+ * with the lowest root (the cluster the sequential scan reaches first). Labels come out
+ * identical to the sequential BFS.
+ *
+ * insert(x) and delete(i) update a fitted (or empty) model in place for streaming data; only
+ * the eps-neighborhood of the changed point is touched and the labels always equal a batch
+ * fit on the current points (see IncrementalDBSCAN).
+ *
+ * setCoreIndex(true) makes fit() also build a compact CoreIndex over the core points only;
+ * predict() then returns the cluster of the nearest core point within eps (noise otherwise) in
+ * sub-linear time, and predict(List) spreads a batch over the worker threads.
  */
 public class DBSCAN {
 
+    public enum Index { BRUTE, GRID, KD_TREE, AUTO }
+
     private double eps;
+    private double epsSq;
     private int minPts;
     private List<double[]> data;
     private int[] labels; // -1 = noise, otherwise cluster id
+    private boolean[] core;
+    private final Index indexType;
+    private RadiusIndex index; // null = brute force
+    private final IntList found = new IntList();     // reusable regionQuery buffer
+    private final IntList expanded = new IntList();  // reusable buffer inside expandCluster
+    private final ParallelPool workers = new ParallelPool(1); // sequential until setParallelism()
+    private IncrementalDBSCAN incremental; // set by the first insert/delete, dropped by fit()
+    private boolean useCoreIndex;
+    private CoreIndex coreIndex;          // built by fit() when useCoreIndex is set
 
     private static final int UNVISITED = 0;
     private static final int NOISE = -1;
+    private static final int MIN_PARALLEL_POINTS = 2048; // smaller fits stay sequential
+    private static final int MIN_PARALLEL_BATCH = 1024;  // smaller predict batches stay on the caller
+    private static final DistanceKernel KERNEL = DistanceKernel.get();
 
     // === Constructor ===
     public DBSCAN(double eps, int minPts) {
+        this(eps, minPts, Index.AUTO);
+    }
+
+    public DBSCAN(double eps, int minPts, Index indexType) {
         if (eps <= 0 || minPts <= 0)
             throw new IllegalArgumentException("eps and minPts must be positive!");
+        if (indexType == null)
+            throw new IllegalArgumentException("Index type must not be null!");
         this.eps = eps;
+        this.epsSq = eps * eps;
         this.minPts = minPts;
+        this.indexType = indexType;
+    }
+
+    // === Threads used by fit() (1 = sequential BFS) ===
+    public void setParallelism(int parallelism) {
+        workers.setParallelism(parallelism);
+    }
+
+    // === Build a core-point index in fit() for fast predict (takes effect on the next fit) ===
+    public void setCoreIndex(boolean enabled) {
+        this.useCoreIndex = enabled;
     }
 
     // === Fit method ===
     public void fit(List<double[]> X) {
+        incremental = null;
+        coreIndex = null;
         data = X;
-        labels = new int[X.size()];
+        index = buildIndex(X);
+        int clusterId = workers.parallelism() > 1 && X.size() >= MIN_PARALLEL_POINTS ? fitParallel(X) : fitSequential(X);
+        if (useCoreIndex) coreIndex = new CoreIndex(X, core, labels, eps, indexType);
+
+        System.out.println("🏁 DBSCAN finished. Total clusters found: " + clusterId);
+    }
+
+    private int fitSequential(List<double[]> X) {
+        int n = X.size();
+        labels = new int[n];
+        core = new boolean[n];
         Arrays.fill(labels, UNVISITED);
 
+        IntRingQueue queue = new IntRingQueue(n);
+        BitSet enqueued = new BitSet(n);
         int clusterId = 0;
 
-        for (int i = 0; i < X.size(); i++) {
+        for (int i = 0; i < n; i++) {
             if (labels[i] != UNVISITED) continue;
 
-            List<Integer> neighbors = regionQuery(i);
-            if (neighbors.size() < minPts) {
+            regionQuery(X.get(i), found);
+            if (found.size() < minPts) {
                 labels[i] = NOISE;
             } else {
+                core[i] = true;
                 clusterId++;
-                expandCluster(i, neighbors, clusterId);
+                expandCluster(i, found, clusterId, queue, enqueued);
             }
         }
+        return clusterId;
+    }
 
-        System.out.println("🏁 DBSCAN finished. Total clusters found: " + clusterId);
+    // === Parallel fit: core flags, union-find over core-core edges, then border points ===
+    private int fitParallel(List<double[]> X) {
+        int n = X.size();
+        boolean[] core = new boolean[n];
+        AtomicIntegerArray parent = new AtomicIntegerArray(n);
+        int[] roots = new int[n];
+        // The one region query per point, kept for passes 2 and 3: a core point keeps only its
+        // higher neighbors (each edge is unioned from its lower end), any other point all of them
+        // (fewer than minPts)
+        int[][] adjacent = new int[n][];
+
+        // 1) neighbor counts -> core flags
+        forEachRange(n, (from, to) -> {
+            IntList buf = new IntList();
+            for (int i = from; i < to; i++) {
+                parent.set(i, i);
+                buf.clear();
+                neighbors(X.get(i), buf);
+                core[i] = buf.size() >= minPts;
+                int kept = 0;
+                for (int p = 0; p < buf.size(); p++) if (!core[i] || buf.get(p) > i) kept++;
+                int[] adj = new int[kept];
+                kept = 0;
+                for (int p = 0; p < buf.size(); p++) if (!core[i] || buf.get(p) > i) adj[kept++] = buf.get(p);
+                adjacent[i] = adj;
+            }
+        });
+
+        // 2) union every pair of neighboring core points
+        forEachRange(n, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                if (!core[i]) continue;
+                for (int j : adjacent[i]) if (core[j]) union(parent, i, j);
+            }
+        });
+
+        // 3) every root is its component's lowest index; a border point takes the lowest root
+        //    among its core neighbors, which is the cluster the sequential scan reaches first
+        forEachRange(n, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                if (core[i]) {
+                    roots[i] = find(parent, i);
+                    continue;
+                }
+                int root = Integer.MAX_VALUE;
+                for (int j : adjacent[i]) {
+                    if (core[j]) root = Math.min(root, find(parent, j));
+                }
+                roots[i] = root == Integer.MAX_VALUE ? NOISE : root;
+            }
+        });
+
+        // Clusters are numbered in order of their lowest core point, as in the sequential scan
+        int[] clusterOf = new int[n];
+        int clusterId = 0;
+        for (int i = 0; i < n; i++) {
+            if (core[i] && roots[i] == i) clusterOf[i] = ++clusterId;
+        }
+        labels = new int[n];
+        for (int i = 0; i < n; i++) labels[i] = roots[i] == NOISE ? NOISE : clusterOf[roots[i]];
+        this.core = core;
+        return clusterId;
+    }
+
+    // Root lookup with path halving; parents only ever point to lower indices
+    private static int find(AtomicIntegerArray parent, int x) {
+        while (true) {
+            int p = parent.get(x);
+            if (p == x) return x;
+            int gp = parent.get(p);
+            if (gp != p) parent.compareAndSet(x, p, gp);
+            x = gp;
+        }
+    }
+
+    // Link the higher root under the lower one; retried if another thread moved either root
+    private static void union(AtomicIntegerArray parent, int a, int b) {
+        while (true) {
+            a = find(parent, a);
+            b = find(parent, b);
+            if (a == b) return;
+            if (a > b) {
+                int t = a;
+                a = b;
+                b = t;
+            }
+            if (parent.compareAndSet(b, b, a)) return;
+        }
+    }
+
+    private interface RangeBody {
+        void run(int from, int to);
+    }
+
+    private void forEachRange(int n, RangeBody body) {
+        ForkJoinPool pool = workers.get();
+        int grain = Math.max(256, n / (pool.getParallelism() * 8));
+        pool.invoke(new RangeTask(body, 0, n, grain));
+    }
+
+    // Splits [from, to) in halves down to grain-sized leaves
+    @SuppressWarnings("serial")
+    private static class RangeTask extends RecursiveAction {
+        private final RangeBody body;
+        private final int from, to, grain;
+
+        RangeTask(RangeBody body, int from, int to, int grain) {
+            this.body = body;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                body.run(from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RangeTask(body, from, mid, grain), new RangeTask(body, mid, to, grain));
+        }
     }
 
     // === Expand cluster ===
-    private void expandCluster(int pointIndex, List<Integer> neighbors, int clusterId) {
+    // A point enters the queue at most once per fit: whichever cluster enqueues it first also
+    // labels it, exactly as in a BFS that re-enqueues duplicates and skips them on dequeue
+    private void expandCluster(int pointIndex, IntList neighbors, int clusterId,
+                               IntRingQueue queue, BitSet enqueued) {
         labels[pointIndex] = clusterId;
-
-        Queue<Integer> queue = new LinkedList<>(neighbors);
+        enqueued.set(pointIndex);
+        enqueueAll(neighbors, queue, enqueued);
 
         while (!queue.isEmpty()) {
             int current = queue.poll();
@@ -68,47 +277,168 @@ public class DBSCAN {
 
             labels[current] = clusterId;
 
-            List<Integer> currentNeighbors = regionQuery(current);
-            if (currentNeighbors.size() >= minPts) {
-                queue.addAll(currentNeighbors);
+            regionQuery(data.get(current), expanded);
+            if (expanded.size() >= minPts) {
+                core[current] = true;
+                enqueueAll(expanded, queue, enqueued);
             }
         }
     }
 
-    // === Find all neighbors within eps radius ===
-    private List<Integer> regionQuery(int index) {
-        List<Integer> neighbors = new ArrayList<>();
-        for (int i = 0; i < data.size(); i++) {
-            if (euclideanDistance(data.get(index), data.get(i)) <= eps) {
-                neighbors.add(i);
-            }
+    private void enqueueAll(IntList neighbors, IntRingQueue queue, BitSet enqueued) {
+        for (int p = 0; p < neighbors.size(); p++) {
+            int j = neighbors.get(p);
+            if (enqueued.get(j)) continue;
+            enqueued.set(j);
+            queue.add(j);
+        }
+    }
+
+    // === FIFO of point indices over a fixed int array (never holds more than n points) ===
+    private static final class IntRingQueue {
+        private final int[] items;
+        private int head, size;
+
+        IntRingQueue(int capacity) {
+            items = new int[Math.max(1, capacity)];
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void add(int v) {
+            if (size == items.length) throw new IllegalStateException("Queue is full!");
+            int tail = head + size;
+            items[tail >= items.length ? tail - items.length : tail] = v;
+            size++;
         }
-        return neighbors;
+
+        int poll() {
+            int v = items[head];
+            head = head + 1 == items.length ? 0 : head + 1;
+            size--;
+            return v;
+        }
+    }
+
+    // === Incremental updates ===
+    // Add a point and return its index; the model does not need to be fitted first
+    public int insert(double[] x) {
+        if (x == null || x.length == 0) throw new IllegalArgumentException("Sample must not be empty!");
+        return incremental().insert(x);
+    }
+
+    // Remove the point at index; later points shift down by one, as in List.remove
+    public void delete(int index) {
+        incremental().delete(index);
+    }
+
+    // === Number of points currently clustered ===
+    public int size() {
+        if (incremental != null) return incremental.size();
+        return data == null ? 0 : data.size();
     }
 
-    // === Euclidean distance ===
-    private double euclideanDistance(double[] a, double[] b) {
-        double sum = 0;
-        for (int i = 0; i < a.length; i++) {
-            sum += Math.pow(a[i] - b[i], 2);
+    private IncrementalDBSCAN incremental() {
+        if (incremental == null) {
+            IncrementalDBSCAN state = new IncrementalDBSCAN(eps, minPts, indexType);
+            if (data != null) state.load(data);
+            incremental = state;
+            data = null;
+            index = null;
+            labels = null;
+            core = null;
+            coreIndex = null;
+        }
+        return incremental;
+    }
+
+    // === Neighborhood index over n flat rows, or null for brute force ===
+    static RadiusIndex newIndex(Index type, double[] flat, int n, int dim, double eps) {
+        if (n == 0 || type == Index.BRUTE) return null;
+        boolean grid = type == Index.GRID || (type == Index.AUTO && dim <= GridIndex.MAX_DIM);
+        if (grid && GridIndex.fits(flat, n, dim, eps)) return new GridIndex(flat, n, dim, eps);
+        return new KDTree(flat, n, dim);
+    }
+
+    // === Build the neighborhood index over a flat copy of X ===
+    private RadiusIndex buildIndex(List<double[]> X) {
+        if (X.isEmpty() || indexType == Index.BRUTE) return null;
+
+        int dim = X.get(0).length;
+        double[] flat = new double[X.size() * dim];
+        for (int i = 0; i < X.size(); i++) {
+            double[] row = X.get(i);
+            if (row.length != dim)
+                throw new IllegalArgumentException("All samples must have the same number of features!");
+            System.arraycopy(row, 0, flat, i * dim, dim);
+        }
+        return newIndex(indexType, flat, X.size(), dim, eps);
+    }
+
+    // === Find all neighbors within eps radius into a reusable buffer ===
+    private void regionQuery(double[] p, IntList out) {
+        out.clear();
+        neighbors(p, out);
+    }
+
+    // === Append every point within eps of p to out (any order; safe to call concurrently) ===
+    private void neighbors(double[] p, IntList out) {
+        if (index != null) {
+            index.radius(p, epsSq, out);
+            return;
+        }
+        for (int i = 0; i < data.size(); i++) {
+            if (KERNEL.squaredDistance(p, data.get(i)) <= epsSq) out.add(i);
         }
-        return Math.sqrt(sum);
     }
 
     // === Get cluster labels ===
     public int[] getLabels() {
+        if (incremental != null) return incremental.labels();
         return labels;
     }
 
     // === Predict single point’s cluster (optional helper) ===
     public int predict(double[] sample) {
+        if (incremental != null) return incremental.predict(sample);
+        if (coreIndex != null) return coreIndex.predict(sample);
+        return predictScan(sample, found);
+    }
+
+    // === Predict many samples; parallel for large batches unless the model was updated in place ===
+    public int[] predict(List<double[]> samples) {
+        int[] out = new int[samples.size()];
+        if (incremental != null || workers.parallelism() == 1 || out.length < MIN_PARALLEL_BATCH) {
+            for (int i = 0; i < out.length; i++) out[i] = predict(samples.get(i));
+            return out;
+        }
+        CoreIndex cores = coreIndex;
+        forEachRange(out.length, (from, to) -> {
+            IntList buf = new IntList();
+            for (int i = from; i < to; i++) {
+                double[] sample = samples.get(i);
+                out[i] = cores != null ? cores.predict(sample) : predictScan(sample, buf);
+            }
+        });
+        return out;
+    }
+
+    // Nearest clustered point (core or border) within eps; buf is the caller's scratch buffer
+    private int predictScan(double[] sample, IntList buf) {
         double minDist = Double.MAX_VALUE;
+        int nearest = Integer.MAX_VALUE;
         int assignedCluster = NOISE;
 
-        for (int i = 0; i < data.size(); i++) {
-            double dist = euclideanDistance(sample, data.get(i));
-            if (dist <= eps && labels[i] > 0 && dist < minDist) {
+        regionQuery(sample, buf);
+        for (int p = 0; p < buf.size(); p++) {
+            int i = buf.get(p);
+            double dist = KERNEL.squaredDistance(sample, data.get(i));
+            // ties go to the lowest index, as in a scan over all points
+            if (dist <= epsSq && labels[i] > 0 && (dist < minDist || (dist == minDist && i < nearest))) {
                 minDist = dist;
+                nearest = i;
                 assignedCluster = labels[i];
             }
         }
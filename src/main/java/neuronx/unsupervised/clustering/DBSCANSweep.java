@@ -0,0 +1,204 @@
+package neuronx.unsupervised.clustering;
+
+import java.util.*;
+import neuronx.neighbors.DistanceKernel;
+import neuronx.neighbors.IntList;
+import neuronx.neighbors.RadiusIndex;
+
+/**
+ * DBSCANSweep - Cached eps-neighbor graph for fast DBSCAN parameter tuning.
+ *
+ * The graph is computed once at maxEps: for every point its neighbors within maxEps, sorted
+ * by distance. A clustering for any eps <= maxEps and any minPts is then read off the graph
+ * without computing a single distance (binary search for the neighbor counts, union-find over
+ * core-core edges), so each (eps, minPts) pair costs about O(n + edges within eps).
+ *
+ * Labels are identical to DBSCAN(eps, minPts).fit(X) on the same data.
+ * Memory is one int and one double per edge at maxEps, so keep maxEps as small as the sweep allows.
+ */
+public class DBSCANSweep {
+
+    private static final DistanceKernel KERNEL = DistanceKernel.get();
+    private static final int NOISE = -1;
+
+    private final int n;
+    private final double maxEps;
+    private final int[] start;     // neighbors of i: [start[i], start[i + 1]), self excluded
+    private final int[] neighbor;
+    private final double[] distSq; // ascending within each row
+
+    public DBSCANSweep(List<double[]> X, double maxEps) {
+        this(X, maxEps, DBSCAN.Index.AUTO);
+    }
+
+    public DBSCANSweep(List<double[]> X, double maxEps, DBSCAN.Index indexType) {
+        if (X == null || X.isEmpty()) throw new IllegalArgumentException("Data must not be empty!");
+        if (maxEps <= 0) throw new IllegalArgumentException("maxEps must be positive!");
+        if (indexType == null) throw new IllegalArgumentException("Index type must not be null!");
+
+        this.n = X.size();
+        this.maxEps = maxEps;
+        int dim = X.get(0).length;
+        double[] flat = new double[n * dim];
+        for (int i = 0; i < n; i++) {
+            if (X.get(i).length != dim)
+                throw new IllegalArgumentException("All samples must have the same number of features!");
+            System.arraycopy(X.get(i), 0, flat, i * dim, dim);
+        }
+        RadiusIndex index = DBSCAN.newIndex(indexType, flat, n, dim, maxEps);
+        double maxEpsSq = maxEps * maxEps;
+
+        // === Build the graph in CSR form ===
+        this.start = new int[n + 1];
+        IntList nbs = new IntList();
+        IntList edges = new IntList();
+        int total = 0;
+        for (int i = 0; i < n; i++) {
+            double[] p = X.get(i);
+            nbs.clear();
+            if (index != null) {
+                index.radius(p, maxEpsSq, nbs);
+            } else {
+                for (int j = 0; j < n; j++) if (KERNEL.squaredDistance(p, X.get(j)) <= maxEpsSq) nbs.add(j);
+            }
+            for (int q = 0; q < nbs.size(); q++) if (nbs.get(q) != i) edges.add(nbs.get(q));
+            total = edges.size();
+            start[i + 1] = total;
+        }
+        this.neighbor = edges.toArray();
+        this.distSq = new double[total];
+        for (int i = 0; i < n; i++) {
+            double[] p = X.get(i);
+            for (int e = start[i]; e < start[i + 1]; e++) distSq[e] = KERNEL.squaredDistance(p, X.get(neighbor[e]));
+            sortRow(start[i], start[i + 1] - 1);
+        }
+    }
+
+    // === Labels for one parameter pair (eps <= maxEps) ===
+    public int[] labels(double eps, int minPts) {
+        return labels(minPts, degrees(checkEps(eps)));
+    }
+
+    // === Labels for every pair: result[i][j] is for (eps[i], minPts[j]) ===
+    public int[][][] sweep(double[] eps, int[] minPts) {
+        int[][][] out = new int[eps.length][minPts.length][];
+        for (int i = 0; i < eps.length; i++) {
+            int[] within = degrees(checkEps(eps[i])); // shared by every minPts at this eps
+            for (int j = 0; j < minPts.length; j++) out[i][j] = labels(minPts[j], within);
+        }
+        return out;
+    }
+
+    // === Number of cached neighbor pairs (each counted from both ends) ===
+    public long edges() {
+        return neighbor.length;
+    }
+
+    public double getMaxEps() {
+        return maxEps;
+    }
+
+    private double checkEps(double eps) {
+        if (eps <= 0 || eps > maxEps)
+            throw new IllegalArgumentException("eps must be in (0, " + maxEps + "]!");
+        return eps * eps;
+    }
+
+    // Neighbors of each point within eps (self excluded): end of its row prefix with dist <= epsSq
+    private int[] degrees(double epsSq) {
+        int[] within = new int[n];
+        for (int i = 0; i < n; i++) {
+            int lo = start[i], hi = start[i + 1];
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (distSq[mid] <= epsSq) lo = mid + 1;
+                else hi = mid;
+            }
+            within[i] = lo - start[i];
+        }
+        return within;
+    }
+
+    // Same rules as the batch scan: clusters are numbered by their lowest core point and a
+    // border point joins the cluster with the lowest such point among its core neighbors
+    private int[] labels(int minPts, int[] within) {
+        if (minPts <= 0) throw new IllegalArgumentException("minPts must be positive!");
+        boolean[] core = new boolean[n];
+        for (int i = 0; i < n; i++) core[i] = within[i] + 1 >= minPts;
+
+        int[] parent = new int[n];
+        for (int i = 0; i < n; i++) parent[i] = i;
+        for (int i = 0; i < n; i++) {
+            if (!core[i]) continue;
+            for (int e = start[i]; e < start[i] + within[i]; e++) {
+                int j = neighbor[e];
+                if (j > i && core[j]) union(parent, i, j);
+            }
+        }
+
+        int[] number = new int[n];
+        int clusterId = 0;
+        for (int i = 0; i < n; i++) if (core[i] && find(parent, i) == i) number[i] = ++clusterId;
+
+        int[] labels = new int[n];
+        for (int i = 0; i < n; i++) {
+            if (core[i]) {
+                labels[i] = number[find(parent, i)];
+                continue;
+            }
+            int root = Integer.MAX_VALUE;
+            for (int e = start[i]; e < start[i] + within[i]; e++) {
+                int j = neighbor[e];
+                if (core[j]) root = Math.min(root, find(parent, j));
+            }
+            labels[i] = root == Integer.MAX_VALUE ? NOISE : number[root];
+        }
+        return labels;
+    }
+
+    private static int find(int[] parent, int x) {
+        while (parent[x] != x) x = parent[x] = parent[parent[x]];
+        return x;
+    }
+
+    // Lower root wins, so every root is the lowest index of its component
+    private static void union(int[] parent, int a, int b) {
+        a = find(parent, a);
+        b = find(parent, b);
+        if (a < b) parent[b] = a;
+        else if (b < a) parent[a] = b;
+    }
+
+    // Sort one CSR row [lo, hi] by distance, moving neighbor ids along
+    private void sortRow(int lo, int hi) {
+        while (hi - lo > 16) {
+            double pivot = distSq[(lo + hi) >>> 1];
+            int i = lo, j = hi;
+            while (i <= j) {
+                while (distSq[i] < pivot) i++;
+                while (distSq[j] > pivot) j--;
+                if (i <= j) swap(i++, j--);
+            }
+            // Recurse into the smaller half, loop on the larger one
+            if (j - lo < hi - i) {
+                sortRow(lo, j);
+                lo = i;
+            } else {
+                sortRow(i, hi);
+                hi = j;
+            }
+        }
+        for (int i = lo + 1; i <= hi; i++) {
+            for (int j = i; j > lo && distSq[j - 1] > distSq[j]; j--) swap(j - 1, j);
+        }
+    }
+
+    private void swap(int a, int b) {
+        double d = distSq[a];
+        distSq[a] = distSq[b];
+        distSq[b] = d;
+        int t = neighbor[a];
+        neighbor[a] = neighbor[b];
+        neighbor[b] = t;
+    }
+}
@@ -0,0 +1,451 @@
+package neuronx.unsupervised.clustering;
+
+import java.util.*;
+import neuronx.neighbors.DistanceKernel;
+import neuronx.neighbors.IntList;
+import neuronx.neighbors.RadiusIndex;
+
+/**
+ * IncrementalDBSCAN - DBSCAN state that supports insert and delete without a full refit.
+ *
+ * Keeps the eps-neighbor graph as adjacency lists and gives every core point the id of its
+ * connected component. Slots are assigned in insertion order and never reordered, so slot
+ * order is the order a batch fit scans the points in.
+ * - insert: one radius query; new cores merge their neighbors' components (the smaller ones
+ *   are relabeled), there is never a split
+ * - delete: edges of the removed point are dropped; if a core disappears or a neighbor stops
+ *   being core, BFS runs from the surviving core neighbors in lockstep and stops as soon as
+ *   they meet again, so only a piece that really broke off is walked in full
+ * Labels are materialized lazily and numbered exactly like a batch fit on the live points.
+ *
+ * Radius queries use a static RadiusIndex over slots [0, indexed) plus a scan of the slots
+ * inserted since; once pending inserts or tombstones pile up the slots are compacted and
+ * the index is rebuilt.
+ */
+final class IncrementalDBSCAN {
+
+    private static final DistanceKernel KERNEL = DistanceKernel.get();
+    private static final int MIN_REBUILD = 1024;
+    private static final int NOISE = -1;
+
+    private final double eps;
+    private final double epsSq;
+    private final int minPts;
+    private final DBSCAN.Index indexType;
+
+    private final List<double[]> rows = new ArrayList<>(); // by slot (null once deleted)
+    private IntList[] adj = new IntList[16];               // eps-neighbors by slot, self excluded
+    private int[] comp = new int[16];                      // component id of a core, -1 = not core
+    private int[] compSize = new int[16];                  // cores per component id
+    private int comps;                                     // component ids handed out
+    private final BitSet deleted = new BitSet();
+    private final IntList order = new IntList();           // live slots, ascending = position order
+    private int slots;
+    private int dim = -1;
+
+    private RadiusIndex index; // over slots [0, indexed); null = scan everything
+    private int indexed;
+    private final IntList found = new IntList();
+
+    // BFS scratch: owner[s] is valid while stamp[s] == epoch
+    private int[] stamp = new int[16];
+    private int[] owner = new int[16];
+    private int epoch;
+
+    private int[] slotLabels; // cached, null after every update
+
+    IncrementalDBSCAN(double eps, int minPts, DBSCAN.Index indexType) {
+        this.eps = eps;
+        this.epsSq = eps * eps;
+        this.minPts = minPts;
+        this.indexType = indexType;
+    }
+
+    // === Bulk load (points become slots 0..n-1) ===
+    void load(List<double[]> X) {
+        for (double[] x : X) {
+            checkDim(x);
+            order.add(newSlot(x));
+        }
+        rebuildIndex();
+        IntList buf = new IntList();
+        for (int s = 0; s < slots; s++) {
+            buf.clear();
+            neighbors(rows.get(s), buf);
+            for (int p = 0; p < buf.size(); p++) if (buf.get(p) != s) adj[s].add(buf.get(p));
+        }
+        for (int s = 0; s < slots; s++) {
+            if (comp[s] == NOISE && isCore(s)) relabel(s, newComp(), NOISE);
+        }
+    }
+
+    int size() {
+        return order.size();
+    }
+
+    // === Add a point; returns its position ===
+    int insert(double[] x) {
+        checkDim(x);
+        found.clear();
+        neighbors(x, found);
+
+        int slot = newSlot(x);
+        order.add(slot);
+        IntList nbs = adj[slot];
+        for (int p = 0; p < found.size(); p++) {
+            int j = found.get(p);
+            nbs.add(j);
+            adj[j].add(slot);
+        }
+
+        // The new point and any neighbor that just reached minPts become cores
+        if (isCore(slot)) promote(slot);
+        for (int p = 0; p < nbs.size(); p++) {
+            int j = nbs.get(p);
+            if (comp[j] == NOISE && isCore(j)) promote(j);
+        }
+
+        slotLabels = null;
+        if (needsCompaction()) compact();
+        return order.size() - 1;
+    }
+
+    // === Remove the point at a position; later positions shift down by one ===
+    void delete(int position) {
+        if (position < 0 || position >= order.size())
+            throw new IllegalArgumentException("Index out of range!");
+        int slot = order.removeAt(position);
+
+        IntList lost = new IntList(); // cores that disappeared or fell below minPts
+        if (comp[slot] != NOISE) lost.add(slot);
+        IntList nbs = adj[slot];
+        for (int p = 0; p < nbs.size(); p++) {
+            int j = nbs.get(p);
+            adj[j].removeValue(slot);
+            if (comp[j] != NOISE && !isCore(j)) lost.add(j);
+        }
+
+        if (!lost.isEmpty()) {
+            int[] lostComp = new int[lost.size()];
+            for (int p = 0; p < lost.size(); p++) {
+                int l = lost.get(p);
+                lostComp[p] = comp[l];
+                compSize[comp[l]]--;
+                comp[l] = NOISE;
+            }
+            // Every remaining core of a broken component is reachable from a core neighbor of a lost core
+            IntList seeds = new IntList();
+            for (int p = 0; p < lost.size(); p++) {
+                int c = lostComp[p];
+                boolean done = false;
+                for (int q = 0; q < p && !done; q++) done = lostComp[q] == c;
+                if (done) continue;
+
+                seeds.clear();
+                for (int r = p; r < lost.size(); r++) {
+                    if (lostComp[r] != c) continue;
+                    IntList around = adj[lost.get(r)];
+                    for (int q = 0; q < around.size(); q++) {
+                        int j = around.get(q);
+                        if (j != slot && comp[j] == c) seeds.add(j);
+                    }
+                }
+                splitIfDisconnected(c, seeds);
+            }
+        }
+
+        deleted.set(slot);
+        rows.set(slot, null);
+        adj[slot] = new IntList(1);
+        slotLabels = null;
+        if (needsCompaction()) compact();
+    }
+
+    // === Labels by position, numbered like a batch fit ===
+    int[] labels() {
+        int[] bySlot = slotLabels();
+        int[] out = new int[order.size()];
+        for (int p = 0; p < out.length; p++) out[p] = bySlot[order.get(p)];
+        return out;
+    }
+
+    // === Nearest clustered point within eps (ties to the lowest position) ===
+    int predict(double[] sample) {
+        int[] bySlot = slotLabels();
+        found.clear();
+        neighbors(sample, found);
+        double minDist = Double.MAX_VALUE;
+        int nearest = Integer.MAX_VALUE;
+        int assigned = NOISE;
+        for (int p = 0; p < found.size(); p++) {
+            int s = found.get(p);
+            double dist = KERNEL.squaredDistance(sample, rows.get(s));
+            if (bySlot[s] > 0 && (dist < minDist || (dist == minDist && s < nearest))) {
+                minDist = dist;
+                nearest = s;
+                assigned = bySlot[s];
+            }
+        }
+        return assigned;
+    }
+
+    // A batch scan numbers clusters by their lowest core point and gives a border point to the
+    // cluster whose lowest core comes first
+    private int[] slotLabels() {
+        if (slotLabels != null) return slotLabels;
+        int[] lowest = new int[comps];
+        int[] number = new int[comps];
+        Arrays.fill(lowest, Integer.MAX_VALUE);
+        int clusterId = 0;
+        for (int p = 0; p < order.size(); p++) {
+            int s = order.get(p);
+            if (comp[s] != NOISE && lowest[comp[s]] == Integer.MAX_VALUE) {
+                lowest[comp[s]] = s;
+                number[comp[s]] = ++clusterId;
+            }
+        }
+        int[] bySlot = new int[slots];
+        for (int p = 0; p < order.size(); p++) {
+            int s = order.get(p);
+            if (comp[s] != NOISE) {
+                bySlot[s] = number[comp[s]];
+                continue;
+            }
+            int best = NOISE;
+            IntList nbs = adj[s];
+            for (int q = 0; q < nbs.size(); q++) {
+                int c = comp[nbs.get(q)];
+                if (c != NOISE && (best == NOISE || lowest[c] < lowest[best])) best = c;
+            }
+            bySlot[s] = best == NOISE ? NOISE : number[best];
+        }
+        slotLabels = bySlot;
+        return bySlot;
+    }
+
+    private boolean isCore(int slot) {
+        return adj[slot].size() + 1 >= minPts;
+    }
+
+    // New core: joins the largest neighboring component, the other ones are relabeled into it
+    private void promote(int slot) {
+        IntList nbs = adj[slot];
+        int target = NOISE;
+        for (int p = 0; p < nbs.size(); p++) {
+            int c = comp[nbs.get(p)];
+            if (c != NOISE && (target == NOISE || compSize[c] > compSize[target])) target = c;
+        }
+        if (target == NOISE) target = newComp();
+        comp[slot] = target;
+        compSize[target]++;
+        for (int p = 0; p < nbs.size(); p++) {
+            int j = nbs.get(p);
+            int c = comp[j];
+            if (c != NOISE && c != target) relabel(j, target, c);
+        }
+    }
+
+    // Move every core reachable from start through cores of component from into component to
+    private void relabel(int start, int to, int from) {
+        IntList queue = new IntList();
+        queue.add(start);
+        comp[start] = to;
+        for (int head = 0; head < queue.size(); head++) {
+            IntList nbs = adj[queue.get(head)];
+            for (int p = 0; p < nbs.size(); p++) {
+                int j = nbs.get(p);
+                if (comp[j] == from && (from != NOISE || isCore(j))) {
+                    comp[j] = to;
+                    queue.add(j);
+                }
+            }
+        }
+        if (from != NOISE) compSize[from] -= queue.size();
+        compSize[to] += queue.size();
+    }
+
+    // One BFS per seed, advanced one node at a time in turn. Searches that touch are merged;
+    // a search that runs dry while others are still apart is a piece that broke off and gets
+    // a new component id. Stops as soon as all remaining searches have met.
+    private void splitIfDisconnected(int c, IntList seeds) {
+        int g = seeds.size();
+        if (g <= 1) return;
+        if (stamp.length < slots) {
+            stamp = Arrays.copyOf(stamp, adj.length);
+            owner = Arrays.copyOf(owner, adj.length);
+        }
+        if (++epoch == Integer.MAX_VALUE) {
+            Arrays.fill(stamp, 0);
+            epoch = 1;
+        }
+
+        IntList[] visited = new IntList[g]; // also the BFS queue of each search
+        int[] head = new int[g];
+        int[] group = new int[g];           // union-find over searches
+        boolean[] finished = new boolean[g];
+        boolean[] active = new boolean[g];
+        int open = 0;                       // distinct groups not yet finished
+        for (int i = 0; i < g; i++) {
+            group[i] = i;
+            visited[i] = new IntList();
+            int seed = seeds.get(i);
+            if (stamp[seed] == epoch) {
+                group[i] = findGroup(group, owner[seed]);
+                continue;
+            }
+            stamp[seed] = epoch;
+            owner[seed] = i;
+            visited[i].add(seed);
+            open++;
+        }
+
+        while (open > 1) {
+            for (int i = 0; i < g && open > 1; i++) {
+                if (head[i] >= visited[i].size()) continue;
+                IntList nbs = adj[visited[i].get(head[i]++)];
+                for (int p = 0; p < nbs.size() && open > 1; p++) {
+                    int j = nbs.get(p);
+                    if (comp[j] != c) continue;
+                    if (stamp[j] != epoch) {
+                        stamp[j] = epoch;
+                        owner[j] = i;
+                        visited[i].add(j);
+                        continue;
+                    }
+                    int a = findGroup(group, i), b = findGroup(group, owner[j]);
+                    if (a != b) {
+                        group[Math.max(a, b)] = Math.min(a, b);
+                        open--;
+                    }
+                }
+            }
+            if (open <= 1) break;
+
+            // Groups whose searches all ran dry are complete components of their own
+            Arrays.fill(active, false);
+            for (int i = 0; i < g; i++) if (head[i] < visited[i].size()) active[findGroup(group, i)] = true;
+            for (int r = 0; r < g && open > 1; r++) {
+                if (group[r] != r || finished[r] || active[r]) continue;
+                int piece = newComp();
+                for (int i = 0; i < g; i++) {
+                    if (findGroup(group, i) != r) continue;
+                    for (int p = 0; p < visited[i].size(); p++) comp[visited[i].get(p)] = piece;
+                    compSize[piece] += visited[i].size();
+                }
+                compSize[c] -= compSize[piece];
+                finished[r] = true;
+                open--;
+            }
+        }
+    }
+
+    private static int findGroup(int[] group, int i) {
+        while (group[i] != i) i = group[i] = group[group[i]];
+        return i;
+    }
+
+    private int newComp() {
+        if (comps == compSize.length) compSize = Arrays.copyOf(compSize, comps * 2);
+        compSize[comps] = 0;
+        return comps++;
+    }
+
+    // === Live slots within eps of x (includes x itself when x is stored) ===
+    private void neighbors(double[] x, IntList out) {
+        int from = 0;
+        if (index != null) {
+            int start = out.size();
+            index.radius(x, epsSq, out);
+            if (!deleted.isEmpty()) {
+                int kept = start;
+                for (int p = start; p < out.size(); p++) if (!deleted.get(out.get(p))) out.set(kept++, out.get(p));
+                out.truncate(kept);
+            }
+            from = indexed;
+        }
+        for (int s = from; s < slots; s++) {
+            if (!deleted.get(s) && KERNEL.squaredDistance(x, rows.get(s)) <= epsSq) out.add(s);
+        }
+    }
+
+    private int newSlot(double[] x) {
+        if (slots == adj.length) {
+            adj = Arrays.copyOf(adj, slots * 2);
+            comp = Arrays.copyOf(comp, slots * 2);
+        }
+        rows.add(x.clone());
+        adj[slots] = new IntList(4);
+        comp[slots] = NOISE;
+        return slots++;
+    }
+
+    private void checkDim(double[] x) {
+        if (dim < 0) dim = x.length;
+        if (x.length != dim)
+            throw new IllegalArgumentException("All samples must have the same number of features!");
+    }
+
+    // Unindexed inserts are scanned on every query, so they are kept to about sqrt(n) * 32 -
+    // roughly where the scans cost as much as the rebuilds; tombstones may reach half the slots
+    private boolean needsCompaction() {
+        int pending = indexType == DBSCAN.Index.BRUTE ? 0 : slots - indexed;
+        int live = order.size();
+        return pending > Math.max(MIN_REBUILD, 32 * (int) Math.sqrt(live))
+                || deleted.cardinality() > Math.max(MIN_REBUILD, live / 2);
+    }
+
+    // === Renumber live slots to 0..live-1 and component ids to 0..k-1, then rebuild the index ===
+    private void compact() {
+        int live = order.size();
+        int[] newSlot = new int[slots];
+        Arrays.fill(newSlot, -1);
+        for (int p = 0; p < live; p++) newSlot[order.get(p)] = p;
+        int[] newId = new int[comps];
+        Arrays.fill(newId, -1);
+        int[] oldSize = compSize;
+        compSize = new int[Math.max(16, comps)];
+        comps = 0;
+
+        List<double[]> newRows = new ArrayList<>(live);
+        IntList[] newAdj = new IntList[Math.max(16, live)];
+        int[] newComp = new int[newAdj.length];
+        for (int p = 0; p < live; p++) {
+            int s = order.get(p);
+            newRows.add(rows.get(s));
+            IntList nbs = adj[s];
+            for (int q = 0; q < nbs.size(); q++) nbs.set(q, newSlot[nbs.get(q)]);
+            newAdj[p] = nbs;
+            int c = comp[s];
+            if (c == NOISE) {
+                newComp[p] = NOISE;
+                continue;
+            }
+            if (newId[c] < 0) {
+                newId[c] = comps++;
+                compSize[newId[c]] = oldSize[c];
+            }
+            newComp[p] = newId[c];
+        }
+
+        rows.clear();
+        rows.addAll(newRows);
+        adj = newAdj;
+        comp = newComp;
+        deleted.clear();
+        order.clear();
+        for (int p = 0; p < live; p++) order.add(p);
+        slots = live;
+        slotLabels = null;
+        rebuildIndex();
+    }
+
+    private void rebuildIndex() {
+        indexed = 0;
+        index = null;
+        if (slots == 0 || indexType == DBSCAN.Index.BRUTE) return;
+        double[] flat = new double[slots * dim];
+        for (int s = 0; s < slots; s++) System.arraycopy(rows.get(s), 0, flat, s * dim, dim);
+        index = DBSCAN.newIndex(indexType, flat, slots, dim, eps);
+        indexed = slots;
+    }
+}
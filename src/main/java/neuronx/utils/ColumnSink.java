@@ -0,0 +1,107 @@
+package neuronx.utils;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * ColumnSink - RowSink that parses each field into its column's primitive array.
+ *
+ * Arrays grow by doubling and are trimmed to the row count once by table(). An empty DOUBLE or
+ * FLOAT cell is read as NaN; an empty INT cell is an error.
+ */
+final class ColumnSink implements CsvParser.RowSink {
+
+    private final CsvSchema schema;
+    private final CsvSchema.Type[] types;
+    private final Object[] columns;
+    private int capacity = 1024;
+    private int rows;
+
+    ColumnSink(CsvSchema schema) {
+        this.schema = schema;
+        this.types = new CsvSchema.Type[schema.columns()];
+        this.columns = new Object[types.length];
+        for (int c = 0; c < types.length; c++) {
+            types[c] = schema.type(c);
+            columns[c] = allocate(types[c], capacity);
+        }
+    }
+
+    @Override
+    public void field(int column, byte[] buf, int from, int to) {
+        if (column >= types.length) return; // reported by endRow
+        if (column == 0 && rows == capacity) grow();
+        switch (types[column]) {
+            case DOUBLE -> ((double[]) columns[column])[rows] =
+                    from == to ? Double.NaN : NumberParser.parseDouble(buf, from, to);
+            case FLOAT -> ((float[]) columns[column])[rows] =
+                    from == to ? Float.NaN : NumberParser.parseFloat(buf, from, to);
+            case INT -> ((int[]) columns[column])[rows] = NumberParser.parseInt(buf, from, to);
+            case SKIP -> { }
+        }
+    }
+
+    @Override
+    public void endRow(int fields) {
+        if (fields != types.length)
+            throw new IllegalArgumentException("expected " + types.length + " columns, found " + fields + "!");
+        rows++;
+    }
+
+    int rows() {
+        return rows;
+    }
+
+    Object column(int c) {
+        return columns[c];
+    }
+
+    ColumnTable table(String[] names) {
+        Object[] trimmed = new Object[columns.length];
+        for (int c = 0; c < columns.length; c++) trimmed[c] = trim(columns[c], rows);
+        return new ColumnTable(schema, names, trimmed, rows);
+    }
+
+    // === Rows of parts, in order, in one sink (the per-chunk results of a parallel read) ===
+    static ColumnSink concat(CsvSchema schema, List<ColumnSink> parts) {
+        if (parts.size() == 1) return parts.get(0);
+        ColumnSink out = new ColumnSink(schema);
+        long total = 0;
+        for (ColumnSink part : parts) total += part.rows;
+        if (total > Integer.MAX_VALUE - 8) throw new IllegalArgumentException("Too many rows for one array!");
+        for (int c = 0; c < out.columns.length; c++) {
+            Object column = allocate(out.types[c], (int) total);
+            int at = 0;
+            for (ColumnSink part : parts) {
+                if (column != null) System.arraycopy(part.columns[c], 0, column, at, part.rows);
+                at += part.rows;
+            }
+            out.columns[c] = column;
+        }
+        out.rows = out.capacity = (int) total;
+        return out;
+    }
+
+    private void grow() {
+        if (capacity >= Integer.MAX_VALUE - 8) throw new IllegalArgumentException("Too many rows for one array!");
+        capacity = (int) Math.min(Integer.MAX_VALUE - 8, 2L * capacity);
+        for (int c = 0; c < columns.length; c++) columns[c] = trim(columns[c], capacity);
+    }
+
+    static Object allocate(CsvSchema.Type type, int size) {
+        return switch (type) {
+            case DOUBLE -> new double[size];
+            case FLOAT -> new float[size];
+            case INT -> new int[size];
+            case SKIP -> null;
+        };
+    }
+
+    // Copy to exactly size elements (no copy when it already fits)
+    static Object trim(Object column, int size) {
+        if (column instanceof double[] d) return d.length == size ? d : Arrays.copyOf(d, size);
+        if (column instanceof float[] f) return f.length == size ? f : Arrays.copyOf(f, size);
+        if (column instanceof int[] i) return i.length == size ? i : Arrays.copyOf(i, size);
+        return null;
+    }
+}
@@ -0,0 +1,76 @@
+package neuronx.utils;
+
+/**
+ * ColumnTable - CSV data held as one primitive array per column.
+ *
+ * Column c is a double[], float[] or int[] according to its CsvSchema type (null for SKIP),
+ * exactly rows() long. The arrays are returned as-is, not copied.
+ */
+public final class ColumnTable {
+
+    private final CsvSchema schema;
+    private final String[] names;
+    private final Object[] columns;
+    private final int rows;
+
+    ColumnTable(CsvSchema schema, String[] names, Object[] columns, int rows) {
+        this.schema = schema;
+        this.names = names;
+        this.columns = columns;
+        this.rows = rows;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int columns() {
+        return columns.length;
+    }
+
+    // === Header names (column0, column1, ... when the file has no header) ===
+    public String[] names() {
+        return names.clone();
+    }
+
+    public int indexOf(String name) {
+        for (int c = 0; c < names.length; c++) if (names[c].equals(name)) return c;
+        throw new IllegalArgumentException("No column named \"" + name + "\"!");
+    }
+
+    public double[] getDouble(int column) {
+        return (double[]) typed(column, CsvSchema.Type.DOUBLE);
+    }
+
+    public float[] getFloat(int column) {
+        return (float[]) typed(column, CsvSchema.Type.FLOAT);
+    }
+
+    public int[] getInt(int column) {
+        return (int[]) typed(column, CsvSchema.Type.INT);
+    }
+
+    public double[] getDouble(String name) {
+        return getDouble(indexOf(name));
+    }
+
+    public float[] getFloat(String name) {
+        return getFloat(indexOf(name));
+    }
+
+    public int[] getInt(String name) {
+        return getInt(indexOf(name));
+    }
+
+    CsvSchema schema() {
+        return schema;
+    }
+
+    private Object typed(int column, CsvSchema.Type type) {
+        if (column < 0 || column >= columns.length)
+            throw new IllegalArgumentException("Column " + column + " is outside the table!");
+        if (schema.type(column) != type)
+            throw new IllegalArgumentException("Column " + column + " is " + schema.type(column) + ", not " + type + "!");
+        return columns[column];
+    }
+}
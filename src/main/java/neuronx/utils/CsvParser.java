@@ -0,0 +1,189 @@
+package neuronx.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * CsvParser - Byte-level CSV tokenizer for numeric data.
+ *
+ * Lines are split on the delimiter directly in the byte buffer and every trimmed field is
+ * handed to a RowSink as (buffer, from, to), so numbers are parsed without creating a String
+ * per cell. Blank lines are skipped, "\r\n" endings and surrounding double quotes are stripped;
+ * quoted delimiters or line breaks inside a field are not supported.
+ */
+final class CsvParser {
+
+    private static final int BUFFER = 1 << 16;
+    private static final int WINDOW = 1 << 20; // bytes copied per step out of a (mapped) ByteBuffer
+
+    interface RowSink {
+        void field(int column, byte[] buf, int from, int to);
+
+        void endRow(int columns);
+    }
+
+    private final byte delimiter;
+    private final RowSink sink;
+    private long line; // number of the line being parsed, for error messages
+
+    CsvParser(char delimiter, RowSink sink, long firstLine) {
+        if (delimiter > 127) throw new IllegalArgumentException("Delimiter must be an ASCII character!");
+        this.delimiter = (byte) delimiter;
+        this.sink = sink;
+        this.line = firstLine;
+    }
+
+    // === Every line of in; with header the first non-blank line is returned instead of parsed ===
+    static String[] parse(InputStream in, char delimiter, boolean header, RowSink sink) throws IOException {
+        byte[] buf = new byte[BUFFER];
+        int len = 0;
+        String[] names = null;
+        boolean needHeader = header;
+        CsvParser parser = new CsvParser(delimiter, sink, 1);
+
+        while (true) {
+            int read = in.read(buf, len, buf.length - len);
+            if (read < 0) break;
+            len += read;
+            int lastNewline = lastIndexOf(buf, len, (byte) '\n');
+            if (lastNewline < 0) {
+                if (len == buf.length) buf = Arrays.copyOf(buf, buf.length * 2); // one very long line
+                continue;
+            }
+            int start = 0;
+            if (needHeader) {
+                start = parser.header(buf, 0, lastNewline + 1);
+                if (start < 0) start = lastNewline + 1; // only blank lines so far
+                else {
+                    names = parser.names(buf, 0, start);
+                    needHeader = false;
+                }
+            }
+            parser.lines(buf, start, lastNewline + 1);
+            len -= lastNewline + 1;
+            System.arraycopy(buf, lastNewline + 1, buf, 0, len);
+        }
+
+        // Last line without a trailing newline
+        int start = 0;
+        if (needHeader) {
+            start = parser.header(buf, 0, len);
+            if (start < 0) return new String[0];
+            names = parser.names(buf, 0, start);
+        }
+        parser.lines(buf, start, len);
+        return names == null ? new String[0] : names;
+    }
+
+    // === Parse the complete lines in buf[from, to) ===
+    void lines(byte[] buf, int from, int to) {
+        int start = from;
+        while (start < to) {
+            int end = start;
+            while (end < to && buf[end] != '\n') end++;
+            line(buf, start, end);
+            line++;
+            start = end + 1;
+        }
+    }
+
+    // === Parse every line in the remaining bytes of src, copied out through a byte[] window ===
+    void lines(ByteBuffer src) {
+        byte[] buf = new byte[Math.max(1, Math.min(WINDOW, src.remaining()))];
+        int len = 0;
+        while (src.hasRemaining()) {
+            if (len == buf.length) buf = Arrays.copyOf(buf, buf.length * 2); // one very long line
+            int n = Math.min(buf.length - len, src.remaining());
+            src.get(buf, len, n);
+            len += n;
+            int lastNewline = lastIndexOf(buf, len, (byte) '\n');
+            if (lastNewline < 0) continue;
+            lines(buf, 0, lastNewline + 1);
+            len -= lastNewline + 1;
+            System.arraycopy(buf, lastNewline + 1, buf, 0, len);
+        }
+        lines(buf, 0, len);
+    }
+
+    // Number of the next line to be parsed
+    long line() {
+        return line;
+    }
+
+    private void line(byte[] buf, int from, int to) {
+        if (to > from && buf[to - 1] == '\r') to--;
+        if (isBlank(buf, from, to)) return;
+        int column = 0;
+        int start = from;
+        for (int i = from; i <= to; i++) {
+            if (i == to || buf[i] == delimiter) {
+                int a = start, b = i;
+                while (a < b && buf[a] <= ' ') a++;
+                while (b > a && buf[b - 1] <= ' ') b--;
+                if (b - a >= 2 && buf[a] == '"' && buf[b - 1] == '"') {
+                    a++;
+                    b--;
+                }
+                try {
+                    sink.field(column, buf, a, b);
+                } catch (IllegalArgumentException e) { // includes NumberFormatException
+                    throw new IllegalArgumentException("Line " + line + ", column " + (column + 1) + ": " + e.getMessage(), e);
+                }
+                column++;
+                start = i + 1;
+            }
+        }
+        try {
+            sink.endRow(column);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Line " + line + ": " + e.getMessage(), e);
+        }
+    }
+
+    // End (exclusive, past the newline) of the first non-blank line in buf[from, to), or -1
+    int header(byte[] buf, int from, int to) {
+        int start = from;
+        while (start < to) {
+            int end = start;
+            while (end < to && buf[end] != '\n') end++;
+            line++;
+            if (!isBlank(buf, start, end)) return Math.min(to, end + 1);
+            start = end + 1;
+        }
+        return -1;
+    }
+
+    // Column names of the header line ending at headerEnd
+    String[] names(byte[] buf, int from, int headerEnd) {
+        int end = headerEnd;
+        while (end > from && (buf[end - 1] == '\n' || buf[end - 1] == '\r')) end--;
+        int start = end;
+        while (start > from && buf[start - 1] != '\n') start--;
+        List<String> names = new ArrayList<>();
+        int fieldStart = start;
+        for (int i = start; i <= end; i++) {
+            if (i == end || buf[i] == delimiter) {
+                String name = NumberParser.text(buf, fieldStart, i).trim();
+                if (name.length() >= 2 && name.startsWith("\"") && name.endsWith("\""))
+                    name = name.substring(1, name.length() - 1);
+                names.add(name);
+                fieldStart = i + 1;
+            }
+        }
+        return names.toArray(new String[0]);
+    }
+
+    private static boolean isBlank(byte[] buf, int from, int to) {
+        for (int i = from; i < to; i++) if (buf[i] > ' ') return false;
+        return true;
+    }
+
+    private static int lastIndexOf(byte[] buf, int len, byte b) {
+        for (int i = len - 1; i >= 0; i--) if (buf[i] == b) return i;
+        return -1;
+    }
+}
@@ -0,0 +1,85 @@
+package neuronx.utils;
+
+import java.util.Arrays;
+
+/**
+ * CsvSchema - Declared column types for the typed CSV readers in FileUtils.
+ *
+ * One Type per column, in file order; SKIP columns are tokenized but never parsed. The label
+ * column (if any) becomes y in FileUtils.extract_X_y(path, schema), every other non-skipped
+ * column a feature.
+ */
+public final class CsvSchema {
+
+    public enum Type { DOUBLE, FLOAT, INT, SKIP }
+
+    private final Type[] types;
+    private boolean header = true;
+    private char delimiter = ',';
+    private int label = -1;
+
+    public CsvSchema(Type... types) {
+        if (types.length == 0) throw new IllegalArgumentException("Schema needs at least one column!");
+        for (Type t : types) if (t == null) throw new IllegalArgumentException("Column type must not be null!");
+        this.types = types.clone();
+    }
+
+    // === All columns DOUBLE ===
+    public static CsvSchema numeric(int columns) {
+        if (columns <= 0) throw new IllegalArgumentException("Schema needs at least one column!");
+        Type[] types = new Type[columns];
+        Arrays.fill(types, Type.DOUBLE);
+        return new CsvSchema(types);
+    }
+
+    // === First non-blank line holds column names (default true) ===
+    public CsvSchema header(boolean header) {
+        this.header = header;
+        return this;
+    }
+
+    public CsvSchema delimiter(char delimiter) {
+        this.delimiter = delimiter;
+        return this;
+    }
+
+    // === Column used as y (-1 = none); must not be SKIP ===
+    public CsvSchema label(int column) {
+        if (column < -1 || column >= types.length)
+            throw new IllegalArgumentException("Label column " + column + " is outside the schema!");
+        if (column >= 0 && types[column] == Type.SKIP)
+            throw new IllegalArgumentException("Label column must not be skipped!");
+        this.label = column;
+        return this;
+    }
+
+    public int columns() {
+        return types.length;
+    }
+
+    public Type type(int column) {
+        return types[column];
+    }
+
+    public boolean hasHeader() {
+        return header;
+    }
+
+    public char getDelimiter() {
+        return delimiter;
+    }
+
+    public int getLabel() {
+        return label;
+    }
+
+    // Columns that become features: not skipped and not the label
+    int[] featureColumns() {
+        int count = 0;
+        for (int c = 0; c < types.length; c++) if (types[c] != Type.SKIP && c != label) count++;
+        int[] out = new int[count];
+        count = 0;
+        for (int c = 0; c < types.length; c++) if (types[c] != Type.SKIP && c != label) out[count++] = c;
+        return out;
+    }
+}
@@ -0,0 +1,48 @@
+package neuronx.utils;
+
+import neuronx.linalg.DenseMatrix;
+
+/**
+ * Dataset - Feature matrix X (one row-major double[]) and optional label vector y.
+ *
+ * Produced by FileUtils.extract_X_y(path, schema), which parses every cell straight into these
+ * arrays. X keeps the array it was read into, which may be longer than rows * features.
+ */
+public final class Dataset {
+
+    private final DenseMatrix X;
+    private final double[] y;        // null when the schema has no label
+    private final String[] featureNames;
+    private final String labelName;  // null when the schema has no label
+
+    Dataset(DenseMatrix X, double[] y, String[] featureNames, String labelName) {
+        this.X = X;
+        this.y = y;
+        this.featureNames = featureNames;
+        this.labelName = labelName;
+    }
+
+    public DenseMatrix X() {
+        return X;
+    }
+
+    public double[] y() {
+        return y;
+    }
+
+    public int rows() {
+        return X.rows();
+    }
+
+    public int features() {
+        return X.cols();
+    }
+
+    public String[] featureNames() {
+        return featureNames.clone();
+    }
+
+    public String labelName() {
+        return labelName;
+    }
+}
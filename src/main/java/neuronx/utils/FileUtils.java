@@ -1,12 +1,19 @@
 package neuronx.utils;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
 import java.util.*;
+import java.util.function.IntFunction;
+import neuronx.linalg.DenseMatrix;
 
 /**
  * FileUtils - Single-class utility (like pandas + sklearn)
  * Supports CSV & JSON for ML preprocessing
  * All static methods — no object creation
+ *
+ * The typed readers (read_csv_columns, read_csv_matrix, extract_X_y with a CsvSchema) parse
+ * numeric CSV bytes straight into primitive arrays: no String per cell, no Map per row.
  */
 public class FileUtils {
 
@@ -183,4 +190,176 @@ public class FileUtils {
             System.out.println("❌ Error writing CSV: " + e.getMessage());
         }
     }
+
+    // === 6️⃣ Typed CSV → one primitive array per column ===
+    public static ColumnTable read_csv_columns(String filePath, CsvSchema schema) throws IOException {
+        ColumnSink sink = new ColumnSink(schema);
+        String[] names = parse(filePath, schema.getDelimiter(), schema.hasHeader(), sink);
+        return sink.table(columnNames(names, schema.columns()));
+    }
+
+    // === 7️⃣ Numeric CSV → one flat row-major matrix (all columns) ===
+    // The column count is taken from the first data row while parsing
+    public static DenseMatrix read_csv_matrix(String filePath, boolean hasHeader) throws IOException {
+        MatrixSink sink = new MatrixSink();
+        parse(filePath, ',', hasHeader, sink);
+        if (sink.rows() == 0) throw new IOException("No data rows in " + filePath);
+        return new DenseMatrix(sink.rows(), sink.features(), sink.X());
+    }
+
+    // === 8️⃣ Typed extract_X_y: features into X (row-major), the schema's label column into y ===
+    // Cells are parsed in place and X is the array filled while reading (its spare capacity is
+    // not copied away); only y is trimmed to the row count
+    public static Dataset extract_X_y(String filePath, CsvSchema schema) throws IOException {
+        MatrixSink sink = new MatrixSink(schema);
+        return dataset(filePath, schema, sink, parse(filePath, schema.getDelimiter(), schema.hasHeader(), sink));
+    }
+
+    // === 9️⃣ Parallel ingestion: the file is memory-mapped, split into line-aligned chunks, ===
+    // parsed on `threads` threads into per-chunk arrays and stitched back in file order
+    public static Dataset extract_X_y(String filePath, CsvSchema schema, int threads) throws IOException {
+        MappedCsvReader.Result<MatrixSink> result = parseMapped(filePath, schema.getDelimiter(), schema.hasHeader(),
+                fields -> new MatrixSink(schema), threads);
+        MatrixSink sink;
+        try {
+            sink = MatrixSink.concat(result.sinks);
+        } catch (IllegalArgumentException e) {
+            throw new IOException(filePath + ": " + e.getMessage(), e);
+        }
+        return dataset(filePath, schema, sink, result.names);
+    }
+
+    public static ColumnTable read_csv_columns(String filePath, CsvSchema schema, int threads) throws IOException {
+        MappedCsvReader.Result<ColumnSink> result = parseMapped(filePath, schema.getDelimiter(), schema.hasHeader(),
+                fields -> new ColumnSink(schema), threads);
+        try {
+            return ColumnSink.concat(schema, result.sinks).table(columnNames(result.names, schema.columns()));
+        } catch (IllegalArgumentException e) {
+            throw new IOException(filePath + ": " + e.getMessage(), e);
+        }
+    }
+
+    // Every chunk is sized by the field count of the first data line, found while mapping the file
+    public static DenseMatrix read_csv_matrix(String filePath, boolean hasHeader, int threads) throws IOException {
+        // a file without data rows gets one column and is rejected below
+        MappedCsvReader.Result<MatrixSink> result = parseMapped(filePath, ',', hasHeader,
+                fields -> new MatrixSink(CsvSchema.numeric(Math.max(1, fields))), threads);
+        MatrixSink sink;
+        try {
+            sink = MatrixSink.concat(result.sinks);
+        } catch (IllegalArgumentException e) {
+            throw new IOException(filePath + ": " + e.getMessage(), e);
+        }
+        if (sink.rows() == 0) throw new IOException("No data rows in " + filePath);
+        return new DenseMatrix(sink.rows(), sink.features(), sink.X());
+    }
+
+    // === 🔟 NEURONX binary format: typed little-endian columns behind a small header ===
+    // Convert once, then read_neuronx() maps the file instead of parsing text on every run
+    public static void to_neuronx(Dataset data, String filePath) throws IOException {
+        int m = data.features();
+        boolean hasLabel = data.y() != null;
+        String[] names = Arrays.copyOf(data.featureNames(), hasLabel ? m + 1 : m);
+        if (hasLabel) names[m] = data.labelName();
+        CsvSchema.Type[] types = new CsvSchema.Type[names.length];
+        Arrays.fill(types, CsvSchema.Type.DOUBLE);
+        double[] X = data.X().data();
+        int rows = data.rows();
+        NeuronxFormat.write(Paths.get(filePath), names, types, hasLabel ? m : -1, rows, c -> {
+            if (c == m) return data.y();
+            double[] column = new double[rows]; // one feature at a time out of the row-major X
+            for (int i = 0; i < rows; i++) column[i] = X[i * m + c];
+            return column;
+        });
+    }
+
+    // SKIP columns are left out; the schema's label column stays the label
+    public static void to_neuronx(ColumnTable table, String filePath) throws IOException {
+        CsvSchema schema = table.schema();
+        String[] allNames = table.names();
+        List<Integer> kept = new ArrayList<>();
+        for (int c = 0; c < table.columns(); c++) if (schema.type(c) != CsvSchema.Type.SKIP) kept.add(c);
+        String[] names = new String[kept.size()];
+        CsvSchema.Type[] types = new CsvSchema.Type[kept.size()];
+        int label = -1;
+        for (int k = 0; k < kept.size(); k++) {
+            int c = kept.get(k);
+            names[k] = allNames[c];
+            types[k] = schema.type(c);
+            if (c == schema.getLabel()) label = k;
+        }
+        NeuronxFormat.write(Paths.get(filePath), names, types, label, table.rows(), k -> {
+            int c = kept.get(k);
+            return switch (types[k]) {
+                case DOUBLE -> table.getDouble(c);
+                case FLOAT -> table.getFloat(c);
+                default -> table.getInt(c);
+            };
+        });
+    }
+
+    public static void csv_to_neuronx(String csvPath, CsvSchema schema, String filePath, int threads) throws IOException {
+        to_neuronx(read_csv_columns(csvPath, schema, threads), filePath);
+        System.out.println("✅ Converted " + csvPath + " → " + filePath);
+    }
+
+    // === Zero-copy load: only the header is read, every column is memory-mapped ===
+    public static MappedDataset read_neuronx(String filePath) throws IOException {
+        return NeuronxFormat.map(Paths.get(filePath));
+    }
+
+    private static Dataset dataset(String filePath, CsvSchema schema, MatrixSink sink, String[] header) throws IOException {
+        String[] names = columnNames(header, schema.columns());
+        if (sink.rows() == 0) throw new IOException("No data rows in " + filePath);
+
+        int[] featureColumns = schema.featureColumns();
+        String[] featureNames = new String[featureColumns.length];
+        for (int f = 0; f < featureColumns.length; f++) featureNames[f] = names[featureColumns[f]];
+        String labelName = schema.getLabel() >= 0 ? names[schema.getLabel()] : null;
+        return new Dataset(new DenseMatrix(sink.rows(), sink.features(), sink.X()), sink.y(), featureNames, labelName);
+    }
+
+    // === Number of fields on the first non-blank line ===
+    public static int count_columns(String filePath, char delimiter) throws IOException {
+        try (BufferedReader br = Files.newBufferedReader(Paths.get(filePath), StandardCharsets.ISO_8859_1)) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                if (line.isBlank()) continue;
+                int count = 1;
+                for (int i = 0; i < line.length(); i++) if (line.charAt(i) == delimiter) count++;
+                return count;
+            }
+        }
+        throw new IOException("No data in " + filePath);
+    }
+
+    private static String[] parse(String filePath, char delimiter, boolean header, CsvParser.RowSink sink) throws IOException {
+        try (InputStream in = Files.newInputStream(Paths.get(filePath))) {
+            return CsvParser.parse(in, delimiter, header, sink);
+        } catch (IllegalArgumentException e) {
+            throw new IOException(filePath + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static <S extends CsvParser.RowSink> MappedCsvReader.Result<S> parseMapped(
+            String filePath, char delimiter, boolean header, IntFunction<S> sinks, int threads) throws IOException {
+        if (threads <= 0) throw new IllegalArgumentException("threads must be positive!");
+        try {
+            return MappedCsvReader.read(Paths.get(filePath), delimiter, header, sinks, threads);
+        } catch (IllegalArgumentException e) {
+            throw new IOException(filePath + ": " + e.getMessage(), e);
+        }
+    }
+
+    // Header names, or column0, column1, ... without a header
+    private static String[] columnNames(String[] header, int columns) throws IOException {
+        if (header.length == 0) {
+            String[] names = new String[columns];
+            for (int c = 0; c < columns; c++) names[c] = "column" + c;
+            return names;
+        }
+        if (header.length != columns)
+            throw new IOException("Header has " + header.length + " columns, schema has " + columns);
+        return header;
+    }
 }
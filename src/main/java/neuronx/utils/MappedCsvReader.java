@@ -0,0 +1,225 @@
+package neuronx.utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntFunction;
+
+/**
+ * MappedCsvReader - Parallel CSV ingestion over a memory-mapped file.
+ *
+ * The data part of the file (everything after the header line) is cut into chunks whose
+ * boundaries are moved forward past the next '\n', so every chunk holds whole lines. Each chunk
+ * is mapped with FileChannel.map and parsed by its own CsvParser into its own RowSink; the sinks
+ * come back in file order for the caller to stitch. Only the first chunk knows its first line
+ * number up front - for the others it is counted when (and only when) a parse error is reported.
+ */
+final class MappedCsvReader {
+
+    static final long MIN_CHUNK = 1 << 20;  // smaller inputs are not worth splitting
+    static final long MAX_CHUNK = 1 << 28;  // bounds each mapping and each sink's growth
+    private static final int CHUNKS_PER_THREAD = 4; // slack for chunks that parse slower
+    private static final int SCAN = 1 << 16;
+
+    private MappedCsvReader() {}
+
+    static final class Result<S> {
+        final String[] names; // header names, empty without a header
+        final List<S> sinks;  // one per chunk, in file order
+
+        Result(String[] names, List<S> sinks) {
+            this.names = names;
+            this.sinks = sinks;
+        }
+    }
+
+    // === Parse path on threads threads, one fresh sink per chunk ===
+    // sinks is called with the field count of the first data line (0 when there is none)
+    static <S extends CsvParser.RowSink> Result<S> read(Path path, char delimiter, boolean header,
+                                                        IntFunction<S> sinks, int threads) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            String[] names = new String[0];
+            long dataStart = 0, firstLine = 1;
+
+            if (header) {
+                FirstLine head = firstLine(channel, 0, size, delimiter, 1);
+                if (head == null) { // only blank lines
+                    dataStart = size;
+                } else {
+                    names = head.fields;
+                    dataStart = head.end;
+                    firstLine = head.next;
+                }
+            }
+            FirstLine data = firstLine(channel, dataStart, size, delimiter, firstLine);
+            int fields = data == null ? 0 : data.fields.length;
+
+            long[] bounds = bounds(channel, dataStart, size, threads);
+            List<S> parts = new ArrayList<>();
+            List<ChunkTask> tasks = new ArrayList<>();
+            for (int k = 0; k + 1 < bounds.length; k++) {
+                S sink = sinks.apply(fields);
+                parts.add(sink);
+                tasks.add(new ChunkTask(channel, delimiter, sink, bounds[k], bounds[k + 1], k == 0 ? firstLine : -1));
+            }
+            run(tasks, threads);
+            for (ChunkTask task : tasks) { // the first bad line in file order, as a sequential read
+                if (task.failure instanceof UncheckedIOException io) throw io.getCause();
+                if (task.failure != null) throw task.failure;
+            }
+            return new Result<>(names, parts);
+        }
+    }
+
+    private static final class FirstLine {
+        final String[] fields;
+        final long end;  // offset just past the line
+        final long next; // number of the line after it
+
+        FirstLine(String[] fields, long end, long next) {
+            this.fields = fields;
+            this.end = end;
+            this.next = next;
+        }
+    }
+
+    // The first non-blank line in [from, size), which starts at line number line; null if there is none
+    private static FirstLine firstLine(FileChannel channel, long from, long size, char delimiter, long line)
+            throws IOException {
+        long rest = size - from;
+        int len = (int) Math.min(rest, SCAN);
+        while (true) {
+            byte[] buf = read(channel, from, len);
+            CsvParser parser = new CsvParser(delimiter, null, line);
+            int end = parser.header(buf, 0, len);
+            if (end < 0 && len == rest) return null;
+            if (end > 0 && (buf[end - 1] == '\n' || len == rest))
+                return new FirstLine(parser.names(buf, 0, end), from + end, parser.line());
+            if (len >= MAX_CHUNK) throw new IllegalArgumentException("Line " + line + " is too long!");
+            len = (int) Math.min(rest, 2L * len);
+        }
+    }
+
+    private static void run(List<ChunkTask> tasks, int threads) {
+        if (threads == 1 || tasks.size() == 1) {
+            for (ChunkTask task : tasks) task.compute();
+            return;
+        }
+        boolean common = threads == ForkJoinPool.getCommonPoolParallelism();
+        ForkJoinPool pool = common ? ForkJoinPool.commonPool() : new ForkJoinPool(threads);
+        try {
+            pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    invokeAll(tasks);
+                }
+            });
+        } finally {
+            if (!common) pool.shutdown();
+        }
+    }
+
+    // Chunk starts: about threads * CHUNKS_PER_THREAD even pieces of [from, to), each moved to a line start
+    private static long[] bounds(FileChannel channel, long from, long to, int threads) throws IOException {
+        long bytes = to - from;
+        long chunks = Math.max((long) threads * CHUNKS_PER_THREAD, (bytes + MAX_CHUNK - 1) / MAX_CHUNK);
+        chunks = Math.max(1, Math.min(chunks, bytes / MIN_CHUNK));
+        long[] bounds = new long[(int) chunks + 1];
+        bounds[0] = from;
+        for (int k = 1; k < chunks; k++)
+            bounds[k] = Math.max(bounds[k - 1], lineStart(channel, from + bytes * k / chunks, to));
+        bounds[(int) chunks] = to;
+        return bounds;
+    }
+
+    // First line start at or after pos (to if there is none)
+    private static long lineStart(FileChannel channel, long pos, long to) throws IOException {
+        ByteBuffer block = ByteBuffer.allocate(SCAN);
+        for (long at = pos - 1; at < to; at += block.limit()) {
+            block.clear();
+            block.limit((int) Math.min(SCAN, to - at));
+            while (block.hasRemaining() && channel.read(block, at + block.position()) >= 0) { }
+            block.flip();
+            for (int i = 0; i < block.limit(); i++) if (block.get(i) == '\n') return at + i + 1;
+        }
+        return to;
+    }
+
+    // Line number of the line starting at pos (error path only)
+    private static long lineAt(FileChannel channel, long pos) throws IOException {
+        long line = 1;
+        ByteBuffer block = ByteBuffer.allocate(SCAN);
+        for (long at = 0; at < pos; at += block.limit()) {
+            block.clear();
+            block.limit((int) Math.min(SCAN, pos - at));
+            while (block.hasRemaining() && channel.read(block, at + block.position()) >= 0) { }
+            block.flip();
+            for (int i = 0; i < block.limit(); i++) if (block.get(i) == '\n') line++;
+        }
+        return line;
+    }
+
+    private static byte[] read(FileChannel channel, long pos, int len) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(len);
+        while (buf.hasRemaining() && channel.read(buf, pos + buf.position()) >= 0) { }
+        return buf.array();
+    }
+
+    // Parses the whole lines in [from, to) into one sink
+    @SuppressWarnings("serial")
+    private static class ChunkTask extends RecursiveAction {
+        private final FileChannel channel;
+        private final char delimiter;
+        private final CsvParser.RowSink sink;
+        private final long from, to;
+        private final long firstLine; // -1 = not known
+        RuntimeException failure;     // kept here so it is rethrown unwrapped and in chunk order
+
+        ChunkTask(FileChannel channel, char delimiter, CsvParser.RowSink sink, long from, long to, long firstLine) {
+            this.channel = channel;
+            this.delimiter = delimiter;
+            this.sink = sink;
+            this.from = from;
+            this.to = to;
+            this.firstLine = firstLine;
+        }
+
+        @Override
+        protected void compute() {
+            if (to == from) return;
+            try {
+                if (to - from > Integer.MAX_VALUE) throw new IllegalArgumentException("Line longer than 2 GB!");
+                parse(firstLine > 0 ? firstLine : 1);
+            } catch (IllegalArgumentException e) {
+                failure = e;
+                if (firstLine > 0) return;
+                // Parse again from the real line number so the message points at the right line
+                try {
+                    parse(lineAt(channel, from));
+                } catch (IOException io) {
+                    failure = new UncheckedIOException(io);
+                } catch (RuntimeException again) {
+                    failure = again;
+                }
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+        }
+
+        private void parse(long line) {
+            try {
+                new CsvParser(delimiter, sink, line).lines(channel.map(FileChannel.MapMode.READ_ONLY, from, to - from));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
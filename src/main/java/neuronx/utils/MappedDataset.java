@@ -0,0 +1,138 @@
+package neuronx.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import neuronx.linalg.DenseMatrix;
+
+/**
+ * MappedDataset - A NEURONX binary dataset mapped into memory (see FileUtils.read_neuronx).
+ *
+ * Columns are returned as read-only DoubleBuffer / FloatBuffer / IntBuffer views of the mapped
+ * file, so nothing is parsed or copied; pages are loaded by the OS on first access. features()
+ * gives the feature columns in the form the regression models' predict(DoubleBuffer[], ...) reads.
+ */
+public final class MappedDataset {
+
+    private final String[] names;
+    private final CsvSchema.Type[] types;
+    private final int label;
+    private final int rows;
+    private final ByteBuffer[] data;
+
+    MappedDataset(String[] names, CsvSchema.Type[] types, int label, int rows, ByteBuffer[] data) {
+        this.names = names;
+        this.types = types;
+        this.label = label;
+        this.rows = rows;
+        this.data = data;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int columns() {
+        return types.length;
+    }
+
+    public String[] names() {
+        return names.clone();
+    }
+
+    public CsvSchema.Type type(int column) {
+        check(column);
+        return types[column];
+    }
+
+    // === Label column, -1 when there is none ===
+    public int label() {
+        return label;
+    }
+
+    public int indexOf(String name) {
+        for (int c = 0; c < names.length; c++) if (names[c].equals(name)) return c;
+        throw new IllegalArgumentException("No column named \"" + name + "\"!");
+    }
+
+    // === Zero-copy views; each call returns an independent buffer positioned at row 0 ===
+    public DoubleBuffer getDouble(int column) {
+        return typed(column, CsvSchema.Type.DOUBLE).asDoubleBuffer();
+    }
+
+    public FloatBuffer getFloat(int column) {
+        return typed(column, CsvSchema.Type.FLOAT).asFloatBuffer();
+    }
+
+    public IntBuffer getInt(int column) {
+        return typed(column, CsvSchema.Type.INT).asIntBuffer();
+    }
+
+    public DoubleBuffer getDouble(String name) {
+        return getDouble(indexOf(name));
+    }
+
+    public FloatBuffer getFloat(String name) {
+        return getFloat(indexOf(name));
+    }
+
+    public IntBuffer getInt(String name) {
+        return getInt(indexOf(name));
+    }
+
+    // === Every column except the label, in order; all of them must be DOUBLE ===
+    public DoubleBuffer[] features() {
+        DoubleBuffer[] out = new DoubleBuffer[label >= 0 ? types.length - 1 : types.length];
+        int f = 0;
+        for (int c = 0; c < types.length; c++) if (c != label) out[f++] = getDouble(c);
+        return out;
+    }
+
+    public DoubleBuffer y() {
+        if (label < 0) throw new IllegalStateException("Dataset has no label column!");
+        return getDouble(label);
+    }
+
+    // === Copy into a row-major Dataset (FLOAT and INT columns widened to double) ===
+    public Dataset toDataset() {
+        int features = label >= 0 ? types.length - 1 : types.length;
+        if ((long) rows * features > Integer.MAX_VALUE - 8) throw new IllegalStateException("Too many rows for one array!");
+        double[] X = new double[rows * features];
+        String[] featureNames = new String[features];
+        int f = 0;
+        for (int c = 0; c < types.length; c++) {
+            if (c == label) continue;
+            featureNames[f] = names[c];
+            ByteBuffer column = data[c];
+            for (int i = 0; i < rows; i++) X[i * features + f] = value(c, column, i);
+            f++;
+        }
+        double[] y = null;
+        if (label >= 0) {
+            y = new double[rows];
+            for (int i = 0; i < rows; i++) y[i] = value(label, data[label], i);
+        }
+        return new Dataset(new DenseMatrix(rows, features, X), y, featureNames, label >= 0 ? names[label] : null);
+    }
+
+    private double value(int column, ByteBuffer buf, int row) {
+        return switch (types[column]) {
+            case DOUBLE -> buf.getDouble(row * Double.BYTES);
+            case FLOAT -> buf.getFloat(row * Float.BYTES);
+            default -> buf.getInt(row * Integer.BYTES);
+        };
+    }
+
+    private ByteBuffer typed(int column, CsvSchema.Type type) {
+        check(column);
+        if (types[column] != type)
+            throw new IllegalArgumentException("Column " + column + " is " + types[column] + ", not " + type + "!");
+        return data[column].duplicate().order(data[column].order());
+    }
+
+    private void check(int column) {
+        if (column < 0 || column >= types.length)
+            throw new IllegalArgumentException("Column " + column + " is outside the dataset!");
+    }
+}
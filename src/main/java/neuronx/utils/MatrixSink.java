@@ -0,0 +1,135 @@
+package neuronx.utils;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * MatrixSink - RowSink that parses features straight into one row-major double[] and the label
+ * column (if any) into y.
+ *
+ * Arrays grow by doubling. X is handed out as it is (DenseMatrix accepts a backing array longer
+ * than rows * cols), only the smaller y is trimmed to the row count. Empty cells are NaN.
+ */
+final class MatrixSink implements CsvParser.RowSink {
+
+    private int columns;        // -1 until the first row when the count is inferred
+    private int[] slot;         // feature index per column, -1 = label, -2 = skipped
+    private int features;
+    private final boolean hasLabel;
+    private double[] X;
+    private double[] y;
+    private int capacity = 1024;
+    private int rows;
+    private double[] first;     // cells of the first row while the column count is unknown
+
+    MatrixSink(CsvSchema schema) {
+        this.hasLabel = schema.getLabel() >= 0;
+        int[] featureColumns = schema.featureColumns();
+        if (featureColumns.length == 0) throw new IllegalArgumentException("Schema has no feature columns!");
+        init(schema.columns(), featureColumns);
+        if (schema.getLabel() >= 0) slot[schema.getLabel()] = -1;
+        this.y = hasLabel ? new double[capacity] : null;
+    }
+
+    // === Every column a DOUBLE feature, as many as the first row has ===
+    MatrixSink() {
+        this.hasLabel = false;
+        this.columns = -1;
+        this.first = new double[16];
+    }
+
+    // Same layout as template, sized for exactly rows rows
+    private MatrixSink(MatrixSink template, int rows) {
+        this.hasLabel = template.hasLabel;
+        this.columns = template.columns;
+        this.slot = template.slot;
+        this.features = template.features;
+        this.capacity = rows;
+        this.X = new double[rows * features];
+        this.y = hasLabel ? new double[rows] : null;
+    }
+
+    private void init(int columns, int[] featureColumns) {
+        this.columns = columns;
+        this.slot = new int[columns];
+        Arrays.fill(slot, -2);
+        for (int f = 0; f < featureColumns.length; f++) slot[featureColumns[f]] = f;
+        this.features = featureColumns.length;
+        this.X = new double[capacity * features];
+    }
+
+    @Override
+    public void field(int column, byte[] buf, int from, int to) {
+        if (columns < 0) {
+            if (column == first.length) first = Arrays.copyOf(first, 2 * column);
+            first[column] = from == to ? Double.NaN : NumberParser.parseDouble(buf, from, to);
+            return;
+        }
+        if (column >= columns) return; // reported by endRow
+        if (column == 0 && rows == capacity) grow();
+        int s = slot[column];
+        if (s == -2) return;
+        double v = from == to ? Double.NaN : NumberParser.parseDouble(buf, from, to);
+        if (s >= 0) X[rows * features + s] = v;
+        else y[rows] = v;
+    }
+
+    @Override
+    public void endRow(int fields) {
+        if (columns < 0) { // first row: now the width is known
+            int[] all = new int[fields];
+            for (int c = 0; c < fields; c++) all[c] = c;
+            init(fields, all);
+            System.arraycopy(first, 0, X, 0, fields);
+            first = null;
+        }
+        if (fields != columns)
+            throw new IllegalArgumentException("expected " + columns + " columns, found " + fields + "!");
+        rows++;
+    }
+
+    int rows() {
+        return rows;
+    }
+
+    int features() {
+        return features;
+    }
+
+    // The array filled while reading; rows * features values are used
+    double[] X() {
+        return X;
+    }
+
+    // Trimmed to the rows read
+    double[] y() {
+        if (!hasLabel) return null;
+        return y.length == rows ? y : Arrays.copyOf(y, rows);
+    }
+
+    // === Rows of parts, in order, in one sink (the per-chunk results of a parallel read) ===
+    static MatrixSink concat(List<MatrixSink> parts) {
+        if (parts.size() == 1) return parts.get(0);
+        MatrixSink template = parts.get(0);
+        long total = 0;
+        for (MatrixSink part : parts) total += part.rows;
+        if (total * template.features > Integer.MAX_VALUE - 8) throw new IllegalArgumentException("Too many rows for one array!");
+        MatrixSink out = new MatrixSink(template, (int) total);
+        int at = 0;
+        for (MatrixSink part : parts) {
+            System.arraycopy(part.X, 0, out.X, at * out.features, part.rows * out.features);
+            if (out.hasLabel) System.arraycopy(part.y, 0, out.y, at, part.rows);
+            at += part.rows;
+        }
+        out.rows = at;
+        return out;
+    }
+
+    private void grow() {
+        long limit = (Integer.MAX_VALUE - 8) / features;
+        if (capacity >= limit) throw new IllegalArgumentException("Too many rows for one array!");
+        capacity = (int) Math.min(limit, 2L * capacity);
+        X = Arrays.copyOf(X, capacity * features);
+        if (hasLabel) y = Arrays.copyOf(y, capacity);
+    }
+}
@@ -0,0 +1,168 @@
+package neuronx.utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+/**
+ * NeuronxFormat - Reader and writer of the NEURONX binary dataset format.
+ *
+ * Layout (all little-endian):
+ *
+ *   0   8  magic "NEURONX\0"
+ *   8   4  version (1)
+ *   12  4  column count
+ *   16  8  row count
+ *   24  4  label column (-1 = none)
+ *   28  4  header length in bytes
+ *   32     per column: type (1 byte: 0 DOUBLE, 1 FLOAT, 2 INT), data offset (8), name length (2), UTF-8 name
+ *
+ * Every column is stored contiguously (rows values) at its offset, which is a multiple of
+ * ALIGN. map() therefore only parses the header and maps each column: no value is read or
+ * copied until it is used, and the page cache is shared between processes.
+ */
+final class NeuronxFormat {
+
+    static final int VERSION = 1;
+    static final int ALIGN = 64;
+    private static final byte[] MAGIC = {'N', 'E', 'U', 'R', 'O', 'N', 'X', 0};
+    private static final int FIXED_HEADER = 32;
+    private static final int BLOCK = 1 << 20; // bytes per write
+
+    private NeuronxFormat() {}
+
+    // === Write rows values of each column; column(c) returns its double[], float[] or int[] ===
+    static void write(Path path, String[] names, CsvSchema.Type[] types, int label, int rows,
+                      IntFunction<Object> column) throws IOException {
+        int columns = types.length;
+        byte[][] encoded = new byte[columns][];
+        int headerLength = FIXED_HEADER;
+        for (int c = 0; c < columns; c++) {
+            if (types[c] == CsvSchema.Type.SKIP) throw new IllegalArgumentException("SKIP columns are not stored!");
+            encoded[c] = names[c].getBytes(StandardCharsets.UTF_8);
+            if (encoded[c].length > Short.MAX_VALUE) throw new IllegalArgumentException("Column name is too long!");
+            headerLength += 1 + 8 + 2 + encoded[c].length;
+        }
+
+        long[] offsets = new long[columns];
+        long end = align(headerLength);
+        for (int c = 0; c < columns; c++) {
+            offsets[c] = end;
+            end = align(end + (long) rows * width(types[c]));
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(headerLength).order(ByteOrder.LITTLE_ENDIAN);
+        header.put(MAGIC).putInt(VERSION).putInt(columns).putLong(rows).putInt(label).putInt(headerLength);
+        for (int c = 0; c < columns; c++)
+            header.put(code(types[c])).putLong(offsets[c]).putShort((short) encoded[c].length).put(encoded[c]);
+        header.flip();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            long position = writeFully(channel, header, 0);
+            ByteBuffer block = ByteBuffer.allocateDirect(BLOCK).order(ByteOrder.LITTLE_ENDIAN);
+            for (int c = 0; c < columns; c++) {
+                position = pad(channel, position, offsets[c]);
+                Object values = column.apply(c);
+                int perBlock = BLOCK / width(types[c]);
+                for (int from = 0; from < rows; from += perBlock) {
+                    int n = Math.min(perBlock, rows - from);
+                    block.clear();
+                    switch (types[c]) {
+                        case DOUBLE -> block.asDoubleBuffer().put((double[]) values, from, n);
+                        case FLOAT -> block.asFloatBuffer().put((float[]) values, from, n);
+                        case INT -> block.asIntBuffer().put((int[]) values, from, n);
+                        default -> throw new IllegalStateException();
+                    }
+                    block.limit(n * width(types[c]));
+                    position = writeFully(channel, block, position);
+                }
+            }
+            pad(channel, position, end);
+        }
+    }
+
+    // === Header parsed, every column mapped read-only ===
+    static MappedDataset map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer fixed = read(channel, 0, FIXED_HEADER, size);
+            byte[] magic = new byte[MAGIC.length];
+            fixed.get(magic);
+            if (!Arrays.equals(magic, MAGIC)) throw new IOException("Not a NEURONX dataset: " + path);
+            int version = fixed.getInt();
+            if (version != VERSION) throw new IOException("Unsupported NEURONX version " + version + ": " + path);
+            int columns = fixed.getInt();
+            long rows = fixed.getLong();
+            int label = fixed.getInt();
+            int headerLength = fixed.getInt();
+            if (columns <= 0 || rows < 0 || rows > Integer.MAX_VALUE || label < -1 || label >= columns
+                    || headerLength < FIXED_HEADER)
+                throw new IOException("Corrupt NEURONX header: " + path);
+
+            ByteBuffer header = read(channel, FIXED_HEADER, headerLength - FIXED_HEADER, size);
+            String[] names = new String[columns];
+            CsvSchema.Type[] types = new CsvSchema.Type[columns];
+            ByteBuffer[] data = new ByteBuffer[columns];
+            try {
+                for (int c = 0; c < columns; c++) {
+                    types[c] = type(header.get());
+                    long offset = header.getLong();
+                    byte[] name = new byte[header.getShort()];
+                    header.get(name);
+                    names[c] = new String(name, StandardCharsets.UTF_8);
+                    long bytes = rows * width(types[c]);
+                    if (offset < headerLength || offset % ALIGN != 0 || offset + bytes > size)
+                        throw new IOException("Corrupt NEURONX column " + c + ": " + path);
+                    if (bytes > Integer.MAX_VALUE)
+                        throw new IOException("Column " + c + " is larger than 2 GB and cannot be mapped: " + path);
+                    data[c] = channel.map(FileChannel.MapMode.READ_ONLY, offset, bytes).order(ByteOrder.LITTLE_ENDIAN);
+                }
+            } catch (RuntimeException e) { // BufferUnderflowException, NegativeArraySizeException, bad type
+                throw new IOException("Corrupt NEURONX header: " + path, e);
+            }
+            return new MappedDataset(names, types, label, (int) rows, data);
+        }
+    }
+
+    static int width(CsvSchema.Type type) {
+        return type == CsvSchema.Type.DOUBLE ? Double.BYTES : Float.BYTES; // FLOAT and INT are 4 bytes
+    }
+
+    private static byte code(CsvSchema.Type type) {
+        return (byte) type.ordinal(); // DOUBLE 0, FLOAT 1, INT 2
+    }
+
+    private static CsvSchema.Type type(byte code) {
+        if (code < 0 || code > 2) throw new IllegalArgumentException("Unknown column type " + code + "!");
+        return CsvSchema.Type.values()[code];
+    }
+
+    private static long align(long position) {
+        return (position + ALIGN - 1) / ALIGN * ALIGN;
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length, long size) throws IOException {
+        if (position + length > size) throw new IOException("Truncated NEURONX file");
+        ByteBuffer buf = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buf.hasRemaining() && channel.read(buf, position + buf.position()) >= 0) { }
+        return buf.flip();
+    }
+
+    private static long writeFully(FileChannel channel, ByteBuffer buf, long position) throws IOException {
+        while (buf.hasRemaining()) position += channel.write(buf, position);
+        return position;
+    }
+
+    // Zero bytes from position up to target
+    private static long pad(FileChannel channel, long position, long target) throws IOException {
+        if (target > position) position = writeFully(channel, ByteBuffer.allocate((int) (target - position)), position);
+        return position;
+    }
+}
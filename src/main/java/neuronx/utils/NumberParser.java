@@ -0,0 +1,117 @@
+package neuronx.utils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * NumberParser - Parses numbers straight from ASCII bytes.
+ *
+ * Plain decimals with at most 18 significant digits and small exponents take the exact fast
+ * path (Clinger: one multiplication or division of exactly representable values, so the result
+ * is correctly rounded and equals Double.parseDouble / Float.parseFloat). Anything else - long
+ * mantissas, large exponents, NaN / Infinity - falls back to the JDK parser on a temporary String.
+ * Stateless, so safe to call from several threads.
+ */
+final class NumberParser {
+
+    private static final double[] POW10 = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final float[] POW10F = {1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f};
+
+    private NumberParser() {}
+
+    // === Double in b[from, to); the range must already be trimmed ===
+    static double parseDouble(byte[] b, int from, int to) {
+        double v = fast(b, from, to, false);
+        return v == v ? v : Double.parseDouble(text(b, from, to));
+    }
+
+    // === Float in b[from, to) ===
+    static float parseFloat(byte[] b, int from, int to) {
+        double v = fast(b, from, to, true);
+        return v == v ? (float) v : Float.parseFloat(text(b, from, to));
+    }
+
+    // === Int in b[from, to): optional sign and decimal digits only ===
+    static int parseInt(byte[] b, int from, int to) {
+        int i = from;
+        boolean negative = false;
+        if (i < to && (b[i] == '-' || b[i] == '+')) negative = b[i++] == '-';
+        if (i == to) throw new NumberFormatException("Not an integer: \"" + text(b, from, to) + "\"");
+        long value = 0;
+        for (; i < to; i++) {
+            int d = b[i] - '0';
+            if (d < 0 || d > 9) throw new NumberFormatException("Not an integer: \"" + text(b, from, to) + "\"");
+            value = value * 10 + d;
+            if (value > (long) Integer.MAX_VALUE + 1)
+                throw new NumberFormatException("Integer out of range: \"" + text(b, from, to) + "\"");
+        }
+        if (negative) value = -value;
+        if (value > Integer.MAX_VALUE)
+            throw new NumberFormatException("Integer out of range: \"" + text(b, from, to) + "\"");
+        return (int) value;
+    }
+
+    static String text(byte[] b, int from, int to) {
+        return new String(b, from, to - from, StandardCharsets.ISO_8859_1);
+    }
+
+    // [sign] digits [. digits] [e|E [sign] digits] evaluated exactly, or NaN when the fast path
+    // does not apply (the caller then uses the JDK parser, which also reports malformed input).
+    // With single the value is computed in float arithmetic so it is correctly rounded to float.
+    private static double fast(byte[] b, int from, int to, boolean single) {
+        int i = from;
+        boolean negative = false;
+        if (i < to && (b[i] == '-' || b[i] == '+')) negative = b[i++] == '-';
+
+        long mantissa = 0;
+        int digits = 0, scale = 0;
+        boolean any = false;
+        for (; i < to; i++) {
+            int d = b[i] - '0';
+            if (d < 0 || d > 9) break;
+            any = true;
+            if (mantissa == 0 && d == 0) continue; // leading zeros are not significant
+            if (++digits > 18) return Double.NaN; // 18 digits always fit in a long
+            mantissa = mantissa * 10 + d;
+        }
+        if (i < to && b[i] == '.') {
+            for (i++; i < to; i++) {
+                int d = b[i] - '0';
+                if (d < 0 || d > 9) break;
+                any = true;
+                scale--;
+                if (mantissa == 0 && d == 0) continue;
+                if (++digits > 18) return Double.NaN; // 18 digits always fit in a long
+                mantissa = mantissa * 10 + d;
+            }
+        }
+        if (!any) return Double.NaN;
+        if (i < to && (b[i] == 'e' || b[i] == 'E')) {
+            i++;
+            boolean expNegative = false;
+            if (i < to && (b[i] == '-' || b[i] == '+')) expNegative = b[i++] == '-';
+            if (i == to) return Double.NaN;
+            int exp = 0;
+            for (; i < to; i++) {
+                int d = b[i] - '0';
+                if (d < 0 || d > 9 || exp > 10000) return Double.NaN;
+                exp = exp * 10 + d;
+            }
+            scale += expNegative ? -exp : exp;
+        }
+        if (i != to) return Double.NaN; // trailing garbage, or a suffix such as 'd' / 'f'
+
+        if (mantissa == 0) return negative ? -0.0 : 0.0;
+        double v;
+        if (single) {
+            if (mantissa > (1L << 24) || scale < -10 || scale > 10) return Double.NaN;
+            v = scale >= 0 ? (float) mantissa * POW10F[scale] : (float) mantissa / POW10F[-scale];
+        } else {
+            if (mantissa > (1L << 53) || scale < -22 || scale > 22) return Double.NaN;
+            v = scale >= 0 ? mantissa * POW10[scale] : mantissa / POW10[-scale];
+        }
+        return negative ? -v : v;
+    }
+}
@@ -0,0 +1,57 @@
+package neuronx.utils;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ParallelPool - The ForkJoinPool behind a model's setParallelism().
+ *
+ * By default, and whenever the requested parallelism equals the common pool's, work runs on
+ * ForkJoinPool.commonPool(). Any other value gets one private pool, created on first use.
+ *
+ * A replaced pool is not shut down: a predict or fit that already got it from get() keeps running
+ * on it. Private pools keep no core threads: once idle, their workers time out one per KEEP_ALIVE
+ * seconds and the pool is garbage collected, so changing parallelism does not leak threads.
+ */
+public final class ParallelPool {
+
+    private static final long KEEP_ALIVE = 30; // seconds an idle private worker is kept
+
+    private int parallelism;
+    private ForkJoinPool pool; // private pool for non-default parallelism, created lazily
+
+    public ParallelPool() {
+        this(ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    public ParallelPool(int parallelism) {
+        check(parallelism);
+        this.parallelism = parallelism;
+    }
+
+    public synchronized int parallelism() {
+        return parallelism;
+    }
+
+    // === Change the thread count; safe while other threads run on the current pool ===
+    public synchronized void setParallelism(int parallelism) {
+        check(parallelism);
+        if (parallelism == this.parallelism) return;
+        this.parallelism = parallelism;
+        pool = null; // in-flight callers finish on it, then its idle workers time out
+    }
+
+    // === Pool to run on, or null when the work should stay on the calling thread (parallelism 1) ===
+    public synchronized ForkJoinPool get() {
+        if (parallelism == 1) return null;
+        if (parallelism == ForkJoinPool.getCommonPoolParallelism()) return ForkJoinPool.commonPool();
+        if (pool == null)
+            pool = new ForkJoinPool(parallelism, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, false,
+                    0, parallelism + 256, 1, null, KEEP_ALIVE, TimeUnit.SECONDS);
+        return pool;
+    }
+
+    private static void check(int parallelism) {
+        if (parallelism <= 0) throw new IllegalArgumentException("parallelism must be positive!");
+    }
+}
@@ -0,0 +1,108 @@
+package test;
+
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import neuronx.neighbors.DistanceKernel;
+import neuronx.unsupervised.clustering.DBSCAN;
+
+/**
+ * BenchmarkDBSCAN - Throughput and allocation of DBSCAN.fit against the original
+ * List<Integer> / LinkedList implementation (kept below as the baseline).
+ *
+ * JMH is not a project dependency, so this is a plain warm-up + measure loop; allocation is
+ * read from the JVM's per-thread allocation counter.
+ */
+public class BenchmarkDBSCAN {
+
+    private static final int WARMUP = 3;
+    private static final int RUNS = 5;
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+        double eps = 0.5;
+        int minPts = 5;
+
+        Random random = new Random(42);
+        List<double[]> X = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            int blob = i % 4;
+            X.add(new double[]{blob * 6 + random.nextGaussian(), blob * 3 + random.nextGaussian()});
+        }
+
+        System.out.println("\n⏱️ DBSCAN fit, n=" + n + ", eps=" + eps + ", minPts=" + minPts);
+        int[] baseline = measure("Boxed baseline (brute)", () -> legacyFit(X, eps, minPts));
+        int[] brute = measure("Primitive (BRUTE)", () -> quietFit(X, eps, minPts, DBSCAN.Index.BRUTE));
+        int[] indexed = measure("Primitive (AUTO index)", () -> quietFit(X, eps, minPts, DBSCAN.Index.AUTO));
+
+        System.out.println("Labels identical: "
+                + (Arrays.equals(baseline, brute) && Arrays.equals(baseline, indexed)));
+    }
+
+    private static int[] measure(String name, java.util.function.Supplier<int[]> fit) {
+        for (int i = 0; i < WARMUP; i++) fit.get();
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long id = Thread.currentThread().getId();
+        int[] labels = null;
+        long bytes0 = threads.getThreadAllocatedBytes(id);
+        long t0 = System.nanoTime();
+        for (int i = 0; i < RUNS; i++) labels = fit.get();
+        double ms = (System.nanoTime() - t0) / 1e6 / RUNS;
+        double mb = (threads.getThreadAllocatedBytes(id) - bytes0) / 1e6 / RUNS;
+
+        System.out.printf("%-26s %10.2f ms/fit %12.2f MB allocated/fit%n", name, ms, mb);
+        return labels;
+    }
+
+    private static int[] quietFit(List<double[]> X, double eps, int minPts, DBSCAN.Index index) {
+        DBSCAN dbscan = new DBSCAN(eps, minPts, index);
+        java.io.PrintStream out = System.out;
+        System.setOut(new java.io.PrintStream(java.io.OutputStream.nullOutputStream()));
+        try {
+            dbscan.fit(X);
+        } finally {
+            System.setOut(out);
+        }
+        return dbscan.getLabels();
+    }
+
+    // === Baseline: the original implementation (boxed neighbor lists, LinkedList BFS) ===
+    private static int[] legacyFit(List<double[]> data, double eps, int minPts) {
+        DistanceKernel kernel = DistanceKernel.get();
+        double epsSq = eps * eps;
+        int[] labels = new int[data.size()];
+        int clusterId = 0;
+
+        for (int i = 0; i < data.size(); i++) {
+            if (labels[i] != 0) continue;
+            List<Integer> neighbors = legacyRegionQuery(data, i, epsSq, kernel);
+            if (neighbors.size() < minPts) {
+                labels[i] = -1;
+                continue;
+            }
+            clusterId++;
+            labels[i] = clusterId;
+            Queue<Integer> queue = new LinkedList<>(neighbors);
+            while (!queue.isEmpty()) {
+                int current = queue.poll();
+                if (labels[current] == -1) labels[current] = clusterId;
+                if (labels[current] != 0) continue;
+                labels[current] = clusterId;
+                List<Integer> currentNeighbors = legacyRegionQuery(data, current, epsSq, kernel);
+                if (currentNeighbors.size() >= minPts) queue.addAll(currentNeighbors);
+            }
+        }
+        return labels;
+    }
+
+    private static List<Integer> legacyRegionQuery(List<double[]> data, int index, double epsSq,
+                                                   DistanceKernel kernel) {
+        List<Integer> neighbors = new ArrayList<>();
+        double[] p = data.get(index);
+        for (int i = 0; i < data.size(); i++) {
+            if (kernel.squaredDistance(p, data.get(i)) <= epsSq) neighbors.add(i);
+        }
+        return neighbors;
+    }
+}
@@ -0,0 +1,119 @@
+package test;
+
+import java.util.*;
+import java.util.function.Supplier;
+import neuronx.linalg.DenseMatrix;
+import neuronx.linalg.LU;
+
+/**
+ * BenchmarkLinalg - neuronx.linalg kernels against the jagged double[][] helpers the regression
+ * classes used to carry (i-j-k multiply, transpose + multiply for XᵀX, Gauss-Jordan inverse;
+ * kept below as the baseline).
+ *
+ * JMH is not a project dependency, so this is a plain warm-up + measure loop.
+ */
+public class BenchmarkLinalg {
+
+    private static final int WARMUP = 2;
+    private static final int RUNS = 3;
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 512;
+        int rows = args.length > 1 ? Integer.parseInt(args[1]) : 20000;
+        int features = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+        Random random = new Random(42);
+
+        double[][] A = random(random, size, size);
+        double[][] B = random(random, size, size);
+        DenseMatrix dA = DenseMatrix.of(A), dB = DenseMatrix.of(B);
+        double flops = 2.0 * size * size * size;
+        System.out.println("\n⏱️ GEMM " + size + "x" + size);
+        double[][] naive = measure("Jagged i-j-k", flops, () -> legacyMultiply(A, B));
+        double[][] blocked = measure("Blocked GEMM", flops, () -> dA.multiply(dB).toArray());
+        System.out.printf("Max difference: %.3e%n", maxDiff(naive, blocked));
+
+        double[][] X = random(random, rows, features);
+        DenseMatrix dX = DenseMatrix.of(X);
+        flops = (double) rows * features * features; // SYRK does half of the full product
+        System.out.println("\n⏱️ XᵀX for " + rows + "x" + features);
+        naive = measure("Transpose + multiply", flops, () -> legacyMultiply(legacyTranspose(X), X));
+        blocked = measure("Blocked SYRK", flops, () -> dX.gram().toArray());
+        System.out.printf("Max difference: %.3e%n", maxDiff(naive, blocked));
+
+        flops = 2.0 * size * size * size;
+        System.out.println("\n⏱️ Inverse " + size + "x" + size);
+        naive = measure("Gauss-Jordan", flops, () -> legacyInvert(A));
+        blocked = measure("Partial-pivot LU", flops, () -> new LU(dA).inverse().toArray());
+        System.out.printf("Max difference: %.3e%n", maxDiff(naive, blocked));
+    }
+
+    private static double[][] measure(String name, double flops, Supplier<double[][]> op) {
+        for (int i = 0; i < WARMUP; i++) op.get();
+        double[][] result = null;
+        long t0 = System.nanoTime();
+        for (int i = 0; i < RUNS; i++) result = op.get();
+        double ms = (System.nanoTime() - t0) / 1e6 / RUNS;
+        System.out.printf("%-22s %10.2f ms %8.2f GFLOP/s%n", name, ms, flops / ms / 1e6);
+        return result;
+    }
+
+    private static double[][] random(Random random, int rows, int cols) {
+        double[][] M = new double[rows][cols];
+        for (double[] row : M)
+            for (int j = 0; j < cols; j++) row[j] = random.nextGaussian();
+        return M;
+    }
+
+    private static double maxDiff(double[][] A, double[][] B) {
+        double max = 0;
+        for (int i = 0; i < A.length; i++)
+            for (int j = 0; j < A[i].length; j++) max = Math.max(max, Math.abs(A[i][j] - B[i][j]));
+        return max;
+    }
+
+    // === Baseline: the original regression helpers ===
+    private static double[][] legacyTranspose(double[][] A) {
+        double[][] T = new double[A[0].length][A.length];
+        for (int i = 0; i < A.length; i++)
+            for (int j = 0; j < A[0].length; j++)
+                T[j][i] = A[i][j];
+        return T;
+    }
+
+    private static double[][] legacyMultiply(double[][] A, double[][] B) {
+        double[][] C = new double[A.length][B[0].length];
+        for (int i = 0; i < A.length; i++)
+            for (int j = 0; j < B[0].length; j++)
+                for (int k = 0; k < B.length; k++)
+                    C[i][j] += A[i][k] * B[k][j];
+        return C;
+    }
+
+    private static double[][] legacyInvert(double[][] A) {
+        int n = A.length;
+        double[][] X = new double[n][n];
+        double[][] B = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            B[i][i] = 1;
+            System.arraycopy(A[i], 0, X[i], 0, n);
+        }
+
+        for (int i = 0; i < n; i++) {
+            double diag = X[i][i];
+            for (int j = 0; j < n; j++) {
+                X[i][j] /= diag;
+                B[i][j] /= diag;
+            }
+            for (int k = 0; k < n; k++) {
+                if (k != i) {
+                    double factor = X[k][i];
+                    for (int j = 0; j < n; j++) {
+                        X[k][j] -= factor * X[i][j];
+                        B[k][j] -= factor * B[i][j];
+                    }
+                }
+            }
+        }
+        return B;
+    }
+}
@@ -0,0 +1,127 @@
+package test;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import neuronx.linalg.DenseMatrix;
+import neuronx.utils.*;
+
+/**
+ * TestCsvReaders - Checks the memory-mapped, multi-threaded CSV readers against the sequential
+ * ones on a file large enough to be split into many chunks (quoted cells, CRLF endings, blank
+ * lines and empty cells included): every value must be bit-identical, whatever the thread count,
+ * and a bad row must be reported at the same line number. Throws on the first mismatch.
+ */
+public class TestCsvReaders {
+
+    public static void main(String[] args) throws IOException {
+        Path path = Files.createTempFile("neuronx-csv", ".csv");
+        try {
+            int rows = 200_000;
+            Files.writeString(path, csv(rows, -1));
+            System.out.printf("%n📄 %d rows, %.1f MB%n", rows, Files.size(path) / 1e6);
+            String file = path.toString();
+
+            // ===== 1️⃣ extract_X_y: sequential vs mapped chunks =====
+            CsvSchema schema = CsvSchema.numeric(4).header(true).label(3);
+            Dataset expected = FileUtils.extract_X_y(file, schema);
+            if (expected.rows() != rows) throw new IllegalStateException("Expected " + rows + " rows, got " + expected.rows() + "!");
+            for (int threads : new int[]{1, 2, 3, 8}) {
+                Dataset got = FileUtils.extract_X_y(file, schema, threads);
+                same("extract_X_y X (threads " + threads + ")", expected.X(), got.X());
+                same("extract_X_y y (threads " + threads + ")", expected.y(), got.y(), rows);
+            }
+            System.out.println("✔ extract_X_y");
+
+            // ===== 2️⃣ read_csv_matrix: width from the first row, same values =====
+            DenseMatrix matrix = FileUtils.read_csv_matrix(file, true);
+            if (matrix.cols() != 4) throw new IllegalStateException("Expected 4 columns, got " + matrix.cols() + "!");
+            for (int threads : new int[]{1, 3, 8}) same("read_csv_matrix (threads " + threads + ")", matrix, FileUtils.read_csv_matrix(file, true, threads));
+            System.out.println("✔ read_csv_matrix");
+
+            // ===== 3️⃣ read_csv_columns: typed columns =====
+            CsvSchema typed = new CsvSchema(CsvSchema.Type.DOUBLE, CsvSchema.Type.FLOAT, CsvSchema.Type.SKIP, CsvSchema.Type.INT)
+                    .header(true).label(3);
+            ColumnTable columns = FileUtils.read_csv_columns(file, typed);
+            for (int threads : new int[]{1, 4}) {
+                ColumnTable got = FileUtils.read_csv_columns(file, typed, threads);
+                if (got.rows() != columns.rows()) throw new IllegalStateException("read_csv_columns row count differs!");
+                same("read_csv_columns double (threads " + threads + ")", columns.getDouble(0), got.getDouble(0), rows);
+                if (!Arrays.equals(columns.getFloat(1), got.getFloat(1))) throw new IllegalStateException("read_csv_columns float column differs!");
+                if (!Arrays.equals(columns.getInt(3), got.getInt(3))) throw new IllegalStateException("read_csv_columns int column differs!");
+            }
+            System.out.println("✔ read_csv_columns");
+
+            // ===== 4️⃣ A bad row deep in the file: same line number on every path =====
+            int badRow = 150_000;
+            Files.writeString(path, csv(rows, badRow));
+            int badLine = lineOf(path, "7.5,8.5");
+            String sequential = error(() -> FileUtils.extract_X_y(file, schema));
+            for (int threads : new int[]{1, 3, 8}) {
+                int t = threads;
+                String mapped = error(() -> FileUtils.extract_X_y(file, schema, t));
+                if (!mapped.equals(sequential))
+                    throw new IllegalStateException("threads " + threads + " reported \"" + mapped + "\", sequential \"" + sequential + "\"!");
+            }
+            if (!sequential.contains("Line " + badLine + ":"))
+                throw new IllegalStateException("Expected line " + badLine + " in \"" + sequential + "\"!");
+            System.out.println("✔ bad row reported as: " + sequential);
+
+            // ===== 5️⃣ Header only =====
+            Files.writeString(path, "a,b,c,label\r\n\r\n");
+            error(() -> FileUtils.read_csv_matrix(file, true));
+            error(() -> FileUtils.read_csv_matrix(file, true, 2));
+            System.out.println("✔ header-only file rejected");
+
+            System.out.println("✅ Mapped CSV readers match the sequential readers");
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    // Header, then rows of (gaussian, "quoted int", small float or empty, label); every 50th line
+    // ends in CRLF and every 97th row is followed by a blank line. badRow (if >= 0) has 2 cells.
+    private static String csv(int rows, int badRow) {
+        Random random = new Random(9);
+        StringBuilder sb = new StringBuilder("\n\"a\",b,c,label\n");
+        for (int i = 0; i < rows; i++) {
+            if (i == badRow) sb.append("7.5,8.5");
+            else sb.append(random.nextGaussian()).append(",\"").append(random.nextInt(1000)).append("\",")
+                    .append(i % 13 == 0 ? "" : String.valueOf(random.nextFloat())).append(',').append(i % 3);
+            sb.append(i % 50 == 0 ? "\r\n" : "\n");
+            if (i % 97 == 0) sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static int lineOf(Path path, String content) throws IOException {
+        List<String> lines = Files.readAllLines(path);
+        for (int i = 0; i < lines.size(); i++) if (lines.get(i).equals(content)) return i + 1;
+        throw new IllegalStateException("No line " + content + "!");
+    }
+
+    private interface Read {
+        void run() throws IOException;
+    }
+
+    private static String error(Read read) {
+        try {
+            read.run();
+        } catch (IOException e) {
+            return e.getMessage();
+        }
+        throw new IllegalStateException("Expected an IOException!");
+    }
+
+    private static void same(String what, DenseMatrix expected, DenseMatrix actual) {
+        if (expected.rows() != actual.rows() || expected.cols() != actual.cols())
+            throw new IllegalStateException(what + ": shape differs!");
+        same(what, expected.data(), actual.data(), expected.rows() * expected.cols());
+    }
+
+    private static void same(String what, double[] expected, double[] actual, int length) {
+        for (int i = 0; i < length; i++)
+            if (Double.doubleToLongBits(expected[i]) != Double.doubleToLongBits(actual[i]))
+                throw new IllegalStateException(what + " differs at " + i + ": expected " + expected[i] + ", got " + actual[i] + "!");
+    }
+}
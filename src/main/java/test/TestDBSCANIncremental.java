@@ -0,0 +1,75 @@
+package test;
+
+import java.io.PrintStream;
+import java.util.*;
+import neuronx.unsupervised.clustering.DBSCAN;
+
+/**
+ * TestDBSCANIncremental - Interleaves DBSCAN.insert / delete (clusters growing, merging and
+ * splitting, noise appearing and disappearing) and checks after every few updates that
+ * getLabels() equals a fresh fit() on the same points, for every index type. Throws on the first
+ * mismatch.
+ */
+public class TestDBSCANIncremental {
+
+    public static void main(String[] args) {
+        double eps = 0.5;
+        int minPts = 4;
+        for (DBSCAN.Index index : DBSCAN.Index.values()) {
+            for (boolean fitFirst : new boolean[]{false, true}) {
+                Random random = new Random(17);
+                List<double[]> points = new ArrayList<>();
+                DBSCAN dbscan = new DBSCAN(eps, minPts, index);
+                if (fitFirst) { // start from a fitted model instead of an empty one
+                    for (int i = 0; i < 200; i++) points.add(sample(random));
+                    quietFit(dbscan, points);
+                }
+
+                int checkpoints = 0;
+                for (int step = 1; step <= 1500; step++) {
+                    if (points.isEmpty() || random.nextDouble() < 0.65) {
+                        double[] x = sample(random);
+                        int at = dbscan.insert(x);
+                        if (at != points.size())
+                            throw new IllegalStateException("insert() returned " + at + ", expected " + points.size() + "!");
+                        points.add(x);
+                    } else {
+                        int at = random.nextInt(points.size());
+                        dbscan.delete(at);
+                        points.remove(at);
+                    }
+                    if (step % 5 != 0) continue;
+
+                    int[] expected = quietFit(new DBSCAN(eps, minPts, index), points);
+                    int[] actual = dbscan.getLabels();
+                    if (dbscan.size() != points.size() || !Arrays.equals(expected, actual))
+                        throw new IllegalStateException(index + (fitFirst ? " (fitted first)" : "") + ", step " + step
+                                + ": labels differ from a fresh fit!\nexpected " + Arrays.toString(expected)
+                                + "\nactual   " + Arrays.toString(actual));
+                    checkpoints++;
+                }
+                System.out.println("✔ " + index + (fitFirst ? " (fitted first)" : "") + ": " + checkpoints
+                        + " checkpoints, " + points.size() + " points at the end");
+            }
+        }
+        System.out.println("✅ Incremental DBSCAN labels match a fresh fit");
+    }
+
+    // Three blobs whose edges touch (so clusters merge and split) plus uniform noise
+    private static double[] sample(Random random) {
+        if (random.nextDouble() < 0.2) return new double[]{random.nextDouble() * 10, random.nextDouble() * 6};
+        int blob = random.nextInt(3);
+        return new double[]{2 + blob * 3 + random.nextGaussian() * 0.8, 3 + random.nextGaussian() * 0.8};
+    }
+
+    private static int[] quietFit(DBSCAN dbscan, List<double[]> X) {
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(PrintStream.nullOutputStream()));
+        try {
+            dbscan.fit(new ArrayList<>(X));
+        } finally {
+            System.setOut(out);
+        }
+        return dbscan.getLabels();
+    }
+}
@@ -0,0 +1,56 @@
+package test;
+
+import java.io.PrintStream;
+import java.util.*;
+import neuronx.unsupervised.clustering.DBSCAN;
+
+/**
+ * TestDBSCANParallel - Checks that the union-find fit (parallelism > 1) gives exactly the labels
+ * of the sequential BFS fit for every index type, including noise and border points. Throws on
+ * the first mismatch.
+ */
+public class TestDBSCANParallel {
+
+    public static void main(String[] args) {
+        Random random = new Random(3);
+        List<double[]> X = new ArrayList<>();
+        for (int i = 0; i < 6000; i++) {
+            int blob = i % 5;
+            X.add(new double[]{blob * 4 + random.nextGaussian() * 0.8, (blob % 2) * 5 + random.nextGaussian() * 0.8});
+        }
+        for (int i = 0; i < 300; i++) X.add(new double[]{random.nextDouble() * 24 - 2, random.nextDouble() * 12 - 3});
+
+        double eps = 0.3;
+        int minPts = 6;
+        for (DBSCAN.Index index : DBSCAN.Index.values()) {
+            int[] sequential = quietFit(X, eps, minPts, index, 1);
+            for (int parallelism : new int[]{2, 4, 8}) {
+                int[] parallel = quietFit(X, eps, minPts, index, parallelism);
+                for (int i = 0; i < X.size(); i++)
+                    if (parallel[i] != sequential[i])
+                        throw new IllegalStateException(index + " parallelism " + parallelism + ": point " + i
+                                + " labeled " + parallel[i] + ", sequential " + sequential[i] + "!");
+            }
+            int clusters = 0, noise = 0;
+            for (int label : sequential) {
+                clusters = Math.max(clusters, label + 1);
+                if (label < 0) noise++;
+            }
+            System.out.println("✔ " + index + ": " + clusters + " clusters, " + noise + " noise points");
+        }
+        System.out.println("✅ Parallel DBSCAN labels match the sequential fit");
+    }
+
+    private static int[] quietFit(List<double[]> X, double eps, int minPts, DBSCAN.Index index, int parallelism) {
+        DBSCAN dbscan = new DBSCAN(eps, minPts, index);
+        dbscan.setParallelism(parallelism);
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(PrintStream.nullOutputStream()));
+        try {
+            dbscan.fit(X);
+        } finally {
+            System.setOut(out);
+        }
+        return dbscan.getLabels();
+    }
+}
@@ -0,0 +1,98 @@
+package test;
+
+import java.io.PrintStream;
+import java.util.*;
+import neuronx.unsupervised.clustering.DBSCAN;
+
+/**
+ * TestDBSCANPredict - Checks DBSCAN.predict: with the core-point index it must return the
+ * cluster of the nearest core point within eps (ties to the lowest index) found by a brute-force
+ * scan, and the parallel batch predict(List) must equal per-sample predict, with and without the
+ * core index. Throws on the first mismatch.
+ */
+public class TestDBSCANPredict {
+
+    public static void main(String[] args) {
+        Random random = new Random(29);
+        List<double[]> X = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            int blob = i % 3;
+            X.add(new double[]{blob * 4 + random.nextGaussian(), random.nextGaussian()});
+        }
+        List<double[]> samples = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) samples.add(new double[]{random.nextDouble() * 14 - 3, random.nextDouble() * 8 - 4});
+
+        double eps = 0.3;
+        int minPts = 8;
+        for (DBSCAN.Index index : DBSCAN.Index.values()) {
+            for (boolean coreIndex : new boolean[]{true, false}) {
+                DBSCAN dbscan = new DBSCAN(eps, minPts, index);
+                dbscan.setCoreIndex(coreIndex);
+                quietFit(dbscan, X);
+                String what = index + (coreIndex ? " core index" : " scan");
+
+                int[] single = new int[samples.size()];
+                for (int i = 0; i < single.length; i++) single[i] = dbscan.predict(samples.get(i));
+                if (coreIndex) {
+                    int[] expected = nearestCore(X, dbscan.getLabels(), samples, eps, minPts);
+                    check(what + " predict vs brute-force nearest core", expected, single);
+                }
+                for (int parallelism : new int[]{2, 4}) {
+                    dbscan.setParallelism(parallelism);
+                    check(what + " batch predict (parallelism " + parallelism + ")", single, dbscan.predict(samples));
+                }
+                int clustered = 0;
+                for (int label : single) if (label >= 0) clustered++;
+                System.out.println("✔ " + what + ": " + clustered + " of " + single.length + " samples clustered");
+            }
+        }
+        System.out.println("✅ DBSCAN predict paths agree");
+    }
+
+    // Label of the nearest core point within eps (lowest index on ties), -1 when there is none
+    private static int[] nearestCore(List<double[]> X, int[] labels, List<double[]> samples, double eps, int minPts) {
+        double epsSq = eps * eps;
+        boolean[] core = new boolean[X.size()];
+        for (int i = 0; i < X.size(); i++) {
+            int count = 0;
+            for (double[] q : X) if (squaredDistance(X.get(i), q) <= epsSq) count++;
+            core[i] = count >= minPts;
+        }
+        int[] out = new int[samples.size()];
+        for (int s = 0; s < out.length; s++) {
+            double best = Double.MAX_VALUE;
+            out[s] = -1;
+            for (int i = 0; i < X.size(); i++) {
+                double d = squaredDistance(samples.get(s), X.get(i));
+                if (core[i] && d <= epsSq && d < best) {
+                    best = d;
+                    out[s] = labels[i];
+                }
+            }
+        }
+        return out;
+    }
+
+    private static double squaredDistance(double[] a, double[] b) {
+        double sum = 0;
+        for (int j = 0; j < a.length; j++) sum += (a[j] - b[j]) * (a[j] - b[j]);
+        return sum;
+    }
+
+    private static void check(String what, int[] expected, int[] actual) {
+        for (int i = 0; i < expected.length; i++)
+            if (expected[i] != actual[i])
+                throw new IllegalStateException(what + " differs at sample " + i + ": expected " + expected[i]
+                        + ", got " + actual[i] + "!");
+    }
+
+    private static void quietFit(DBSCAN dbscan, List<double[]> X) {
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(PrintStream.nullOutputStream()));
+        try {
+            dbscan.fit(X);
+        } finally {
+            System.setOut(out);
+        }
+    }
+}
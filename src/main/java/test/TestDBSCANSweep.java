@@ -0,0 +1,56 @@
+package test;
+
+import java.io.PrintStream;
+import java.util.*;
+import neuronx.unsupervised.clustering.DBSCAN;
+import neuronx.unsupervised.clustering.DBSCANSweep;
+
+/**
+ * TestDBSCANSweep - Checks that DBSCANSweep reads off exactly the labels of DBSCAN.fit for a
+ * grid of eps <= maxEps (maxEps itself included) and several minPts, built over every index
+ * type, through both labels() and sweep(). Throws on the first mismatch.
+ */
+public class TestDBSCANSweep {
+
+    public static void main(String[] args) {
+        Random random = new Random(21);
+        List<double[]> X = new ArrayList<>();
+        for (int i = 0; i < 1500; i++) {
+            int blob = i % 4;
+            X.add(new double[]{blob * 3 + random.nextGaussian() * 0.7, (blob / 2) * 3 + random.nextGaussian() * 0.7});
+        }
+        for (int i = 0; i < 150; i++) X.add(new double[]{random.nextDouble() * 12 - 2, random.nextDouble() * 8 - 2});
+
+        double maxEps = 0.6;
+        double[] eps = {0.05, 0.15, 0.3, 0.45, maxEps};
+        int[] minPts = {1, 2, 4, 8, 16};
+        for (DBSCAN.Index index : DBSCAN.Index.values()) {
+            DBSCANSweep sweep = new DBSCANSweep(X, maxEps, index);
+            int[][][] grid = sweep.sweep(eps, minPts);
+            for (int i = 0; i < eps.length; i++) {
+                for (int j = 0; j < minPts.length; j++) {
+                    int[] expected = quietFit(new DBSCAN(eps[i], minPts[j], index), X);
+                    String at = index + " eps=" + eps[i] + " minPts=" + minPts[j];
+                    if (!Arrays.equals(expected, sweep.labels(eps[i], minPts[j])))
+                        throw new IllegalStateException(at + ": labels() differs from DBSCAN.fit!");
+                    if (!Arrays.equals(expected, grid[i][j]))
+                        throw new IllegalStateException(at + ": sweep() differs from DBSCAN.fit!");
+                }
+            }
+            System.out.println("✔ " + index + ": " + eps.length * minPts.length + " parameter pairs, "
+                    + sweep.edges() + " cached edges");
+        }
+        System.out.println("✅ DBSCANSweep labels match DBSCAN.fit");
+    }
+
+    private static int[] quietFit(DBSCAN dbscan, List<double[]> X) {
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(PrintStream.nullOutputStream()));
+        try {
+            dbscan.fit(X);
+        } finally {
+            System.setOut(out);
+        }
+        return dbscan.getLabels();
+    }
+}
@@ -0,0 +1,79 @@
+package test;
+
+import java.util.Random;
+import neuronx.neighbors.DistanceKernel;
+
+/**
+ * TestDistanceKernel - Checks DistanceKernel.get() (SIMD when jdk.incubator.vector is loaded)
+ * against plain scalar loops for double, float and int8 rows, over dimensions that do and do
+ * not fill whole vector lanes. Throws on the first mismatch.
+ */
+public class TestDistanceKernel {
+
+    public static void main(String[] args) {
+        DistanceKernel kernel = DistanceKernel.get();
+        System.out.println("\n📏 Distance kernel: " + kernel.name());
+
+        Random random = new Random(7);
+        int rows = 33;
+        for (int dim = 1; dim <= 67; dim++) {
+            double[] query = new double[dim];
+            double[] data = new double[rows * dim];
+            for (int j = 0; j < dim; j++) query[j] = random.nextGaussian() * 10;
+            for (int i = 0; i < data.length; i++) data[i] = random.nextGaussian() * 10;
+
+            // double
+            double[] out = new double[rows];
+            kernel.squaredDistances(query, data, 0, rows, dim, out);
+            for (int i = 0; i < rows; i++) {
+                double expected = 0;
+                for (int j = 0; j < dim; j++) {
+                    double diff = query[j] - data[i * dim + j];
+                    expected += diff * diff;
+                }
+                check("double", dim, expected, out[i], 1e-12);
+                check("double single", dim, expected, kernel.squaredDistance(query, 0, data, i * dim, dim), 1e-12);
+            }
+
+            // float
+            float[] fquery = new float[dim];
+            float[] fdata = new float[data.length];
+            for (int j = 0; j < dim; j++) fquery[j] = (float) query[j];
+            for (int i = 0; i < data.length; i++) fdata[i] = (float) data[i];
+            kernel.squaredDistances(fquery, fdata, 0, rows, dim, out);
+            for (int i = 0; i < rows; i++) {
+                double expected = 0;
+                for (int j = 0; j < dim; j++) {
+                    double diff = fquery[j] - fdata[i * dim + j];
+                    expected += diff * diff;
+                }
+                check("float", dim, expected, out[i], 1e-5);
+            }
+
+            // int8 codes with per-dimension weights
+            byte[] codes = new byte[data.length];
+            float[] weight = new float[dim];
+            for (int i = 0; i < codes.length; i++) codes[i] = (byte) (random.nextInt(255) - 127);
+            for (int j = 0; j < dim; j++) {
+                weight[j] = (float) (0.01 + random.nextDouble());
+                fquery[j] = (float) (random.nextDouble() * 254 - 127);
+            }
+            kernel.weightedSquaredDistances(fquery, codes, 0, rows, weight, dim, out);
+            for (int i = 0; i < rows; i++) {
+                double expected = 0;
+                for (int j = 0; j < dim; j++) {
+                    double diff = fquery[j] - codes[i * dim + j];
+                    expected += weight[j] * diff * diff;
+                }
+                check("int8", dim, expected, out[i], 1e-5);
+            }
+        }
+        System.out.println("✅ double, float and int8 distances match the scalar loops (dim 1..67)");
+    }
+
+    private static void check(String kind, int dim, double expected, double actual, double relTol) {
+        if (Math.abs(expected - actual) > relTol * Math.max(1.0, Math.abs(expected)))
+            throw new IllegalStateException(kind + " distance mismatch at dim " + dim + ": expected "
+                    + expected + ", got " + actual + "!");
+    }
+}
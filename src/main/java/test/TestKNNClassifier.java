@@ -0,0 +1,166 @@
+package test;
+
+import java.util.*;
+import java.util.concurrent.*;
+import neuronx.supervised.classification.KNNClassifier;
+
+/**
+ * TestKNNClassifier - Checks every KNNClassifier path against the brute-force float64 scan:
+ * KD / ball trees (identical labels), HNSW (recall), batch vs single predict (own pool and a
+ * caller's executor), partialFit / remove vs a fresh fit, compact storage with re-ranking, and the
+ * prediction cache (identical labels, invalidated by every update). Throws on the first mismatch.
+ */
+public class TestKNNClassifier {
+
+    public static void main(String[] args) {
+        Random random = new Random(11);
+        int dim = 8;
+        List<double[]> X = new ArrayList<>();
+        List<String> y = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            int blob = random.nextInt(4);
+            double[] x = new double[dim];
+            for (int j = 0; j < dim; j++) x[j] = blob * (j % 2 == 0 ? 1.5 : -1.0) + random.nextGaussian();
+            X.add(x);
+            y.add("c" + blob);
+        }
+        List<double[]> queries = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            double[] q = new double[dim];
+            for (int j = 0; j < dim; j++) q[j] = random.nextGaussian() * 3;
+            queries.add(q);
+        }
+
+        KNNClassifier brute = new KNNClassifier(7);
+        brute.fit(X, y);
+        List<String> expected = single(brute, queries);
+
+        // ===== 1️⃣ Exact indexes return the brute-force labels =====
+        for (KNNClassifier.Algorithm algorithm : new KNNClassifier.Algorithm[]{
+                KNNClassifier.Algorithm.KD_TREE, KNNClassifier.Algorithm.BALL_TREE, KNNClassifier.Algorithm.AUTO}) {
+            KNNClassifier knn = new KNNClassifier(7, algorithm);
+            knn.fit(X, y);
+            same(algorithm + " predict", expected, single(knn, queries));
+        }
+
+        // ===== 2️⃣ HNSW is approximate: recall against the brute-force neighbors =====
+        KNNClassifier hnsw = new KNNClassifier(7, KNNClassifier.Algorithm.HNSW);
+        hnsw.setHnswParams(16, 200, 100);
+        hnsw.fit(X, y);
+        Map<String, Double> report = hnsw.recallReport(queries);
+        System.out.println("HNSW: " + report);
+        if (report.get("recall") < 0.9) throw new IllegalStateException("HNSW recall below 0.9!");
+
+        // ===== 3️⃣ Batch predict keeps the order of single predicts, on any pool size =====
+        for (int parallelism : new int[]{1, 2, 4}) {
+            brute.setParallelism(parallelism);
+            brute.setMinParallelBatch(16);
+            same("batch predict (parallelism " + parallelism + ")", expected, brute.predict(queries));
+        }
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) Executors.newFixedThreadPool(3);
+        try {
+            brute.setParallelism(1); // the caller's executor is used whatever the model's own pool
+            same("executor predict", expected, brute.predict(queries, executor));
+            if (executor.getTaskCount() != (queries.size() + 31) / 32)
+                throw new IllegalStateException("Expected " + (queries.size() + 31) / 32 + " executor tiles, got "
+                        + executor.getTaskCount() + "!");
+        } finally {
+            executor.shutdown();
+        }
+
+        // ===== 4️⃣ partialFit / remove match a fit on the same rows =====
+        KNNClassifier online = new KNNClassifier(7);
+        online.fit(X.subList(0, 1000), y.subList(0, 1000));
+        for (int from = 1000; from < X.size(); from += 500)
+            online.partialFit(X.subList(from, from + 500), y.subList(from, from + 500));
+        same("partialFit predict", expected, single(online, queries));
+
+        for (int i = 2000; i < X.size(); i++)
+            if (online.remove(X.get(i)) != 1) throw new IllegalStateException("remove() missed row " + i + "!");
+        KNNClassifier refit = new KNNClassifier(7);
+        refit.fit(X.subList(0, 2000), y.subList(0, 2000));
+        if (online.size() != 2000) throw new IllegalStateException("Expected 2000 rows after remove, got " + online.size() + "!");
+        same("remove predict", single(refit, queries), single(online, queries));
+
+        // ===== 5️⃣ Compact storage: re-ranked labels agree with float64 =====
+        for (KNNClassifier.Storage storage : new KNNClassifier.Storage[]{KNNClassifier.Storage.FLOAT32, KNNClassifier.Storage.INT8}) {
+            KNNClassifier compact = new KNNClassifier(7);
+            compact.setStorage(storage, 4);
+            compact.fit(X, y);
+            List<String> got = single(compact, queries);
+            int agree = 0;
+            for (int i = 0; i < got.size(); i++) if (got.get(i).equals(expected.get(i))) agree++;
+            double agreement = (double) agree / got.size();
+            System.out.printf("%s (re-rank 4): agreement %.3f, %d bytes%n", storage, agreement, compact.memoryBytes());
+            if (agreement < 0.98) throw new IllegalStateException(storage + " agreement below 0.98!");
+
+            KNNClassifier noRerank = new KNNClassifier(7);
+            noRerank.setStorage(storage);
+            noRerank.fit(X, y);
+            try {
+                noRerank.remove(X.get(0));
+                throw new IllegalStateException(storage + " remove() without exact rows did not throw!");
+            } catch (IllegalStateException e) {
+                if (!e.getMessage().startsWith("remove() needs exact rows")) throw e;
+            }
+        }
+
+        // ===== 6️⃣ Prediction cache: same labels, hits on repeats, dropped by every update =====
+        KNNClassifier cached = new KNNClassifier(7), plain = new KNNClassifier(7);
+        cached.enableCache(10_000);
+        cached.fit(X, y);
+        plain.fit(X, y);
+        same("cached predict (cold)", expected, single(cached, queries));
+        same("cached predict (warm)", expected, single(cached, queries));
+        Map<String, Long> stats = cached.cacheStats();
+        if (stats.get("misses") != queries.size() || stats.get("hits") != queries.size())
+            throw new IllegalStateException("Expected " + queries.size() + " misses and hits, got " + stats + "!");
+
+        List<String> renamed = new ArrayList<>();
+        for (String label : y) renamed.add("r" + label);
+        List<double[]> extra = X.subList(0, 500);
+        List<String> extraLabels = Collections.nCopies(500, "extra");
+        invalidates("fit", cached, plain, queries, m -> m.fit(X, renamed));
+        invalidates("partialFit", cached, plain, queries, m -> m.partialFit(extra, extraLabels));
+        invalidates("remove", cached, plain, queries, m -> { for (double[] x : extra) m.remove(x); });
+
+        KNNClassifier cachedHnsw = new KNNClassifier(7, KNNClassifier.Algorithm.HNSW);
+        KNNClassifier plainHnsw = new KNNClassifier(7, KNNClassifier.Algorithm.HNSW);
+        cachedHnsw.enableCache(10_000);
+        invalidates("HNSW fit", cachedHnsw, plainHnsw, queries, m -> m.fit(X, y));
+        invalidates("setHnswParams", cachedHnsw, plainHnsw, queries, m -> m.setHnswParams(16, 200, 40));
+
+        System.out.println("✅ KNNClassifier paths agree with the brute-force scan");
+    }
+
+    private interface Update {
+        void apply(KNNClassifier model);
+    }
+
+    // Applies update to both models: every cached query must then miss once and match the uncached model
+    private static void invalidates(String what, KNNClassifier cached, KNNClassifier plain,
+                                    List<double[]> queries, Update update) {
+        update.apply(cached);
+        update.apply(plain);
+        long misses = cached.cacheStats().get("misses");
+        same("cache after " + what, single(plain, queries), single(cached, queries));
+        long missed = cached.cacheStats().get("misses") - misses;
+        if (missed != queries.size())
+            throw new IllegalStateException(what + " left " + (queries.size() - missed) + " stale cache entries!");
+        single(cached, queries); // warm again for the next update
+    }
+
+    private static List<String> single(KNNClassifier knn, List<double[]> queries) {
+        List<String> out = new ArrayList<>();
+        for (double[] q : queries) out.add(knn.predict(q));
+        return out;
+    }
+
+    private static void same(String what, List<String> expected, List<String> actual) {
+        for (int i = 0; i < expected.size(); i++)
+            if (!expected.get(i).equals(actual.get(i)))
+                throw new IllegalStateException(what + " differs at query " + i + ": expected "
+                        + expected.get(i) + ", got " + actual.get(i) + "!");
+        System.out.println("✔ " + what);
+    }
+}
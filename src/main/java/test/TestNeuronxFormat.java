@@ -0,0 +1,94 @@
+package test;
+
+import java.io.IOException;
+import java.nio.DoubleBuffer;
+import java.nio.file.*;
+import java.util.*;
+import neuronx.supervised.regression.MultiLinearRegression;
+import neuronx.utils.*;
+
+/**
+ * TestNeuronxFormat - Round-trips CSV data through the NEURONX binary format: names, types,
+ * label and every value read back through the mapped buffers (and toDataset) must equal what
+ * was written, and a model predicting from the mapped columns must match the row-major predict.
+ * Throws on the first mismatch.
+ */
+public class TestNeuronxFormat {
+
+    public static void main(String[] args) throws IOException {
+        Path csv = Files.createTempFile("neuronx-round-trip", ".csv");
+        Path bin = Files.createTempFile("neuronx-round-trip", ".neuronx");
+        try {
+            Random random = new Random(13);
+            int rows = 5000;
+            StringBuilder sb = new StringBuilder("x1,x2,skip,count,target\n");
+            for (int i = 0; i < rows; i++)
+                sb.append(random.nextGaussian()).append(',').append(random.nextFloat() * 100).append(",zz,")
+                        .append(random.nextInt(50) - 25).append(',').append(random.nextGaussian() * 5).append('\n');
+            Files.writeString(csv, sb);
+
+            // ===== 1️⃣ Dataset (all DOUBLE) =====
+            Dataset data = FileUtils.extract_X_y(csv.toString(),
+                    new CsvSchema(CsvSchema.Type.DOUBLE, CsvSchema.Type.DOUBLE, CsvSchema.Type.SKIP,
+                            CsvSchema.Type.DOUBLE, CsvSchema.Type.DOUBLE).header(true).label(4));
+            FileUtils.to_neuronx(data, bin.toString());
+            MappedDataset mapped = FileUtils.read_neuronx(bin.toString());
+            if (mapped.rows() != rows || mapped.columns() != 4)
+                throw new IllegalStateException("Expected " + rows + " x 4, got " + mapped.rows() + " x " + mapped.columns() + "!");
+            if (!Arrays.equals(mapped.names(), new String[]{"x1", "x2", "count", "target"}) || mapped.label() != 3)
+                throw new IllegalStateException("Names or label lost: " + Arrays.toString(mapped.names()) + ", label " + mapped.label() + "!");
+
+            Dataset back = mapped.toDataset();
+            double[] X = data.X().data(), Xback = back.X().data();
+            for (int i = 0; i < rows * 3; i++) same("X[" + i + "]", X[i], Xback[i]);
+            DoubleBuffer[] features = mapped.features();
+            DoubleBuffer y = mapped.y();
+            for (int i = 0; i < rows; i++) {
+                same("y[" + i + "]", data.y()[i], y.get(i));
+                for (int f = 0; f < 3; f++) same("column " + f + " row " + i, X[i * 3 + f], features[f].get(i));
+            }
+            System.out.println("✔ Dataset round trip (" + Files.size(bin) + " bytes)");
+
+            // ===== 2️⃣ Predicting from the mapped columns = row-major predict =====
+            MultiLinearRegression model = new MultiLinearRegression();
+            double[][] rowsX = new double[rows][];
+            for (int i = 0; i < rows; i++) rowsX[i] = Arrays.copyOfRange(X, i * 3, i * 3 + 3);
+            model.fit(rowsX, data.y());
+            double[] fromRows = new double[rows], fromColumns = new double[rows];
+            model.predict(X, rows, 3, fromRows);
+            model.predict(features, rows, fromColumns);
+            for (int i = 0; i < rows; i++)
+                if (Math.abs(fromRows[i] - fromColumns[i]) > 1e-9 * Math.max(1.0, Math.abs(fromRows[i])))
+                    throw new IllegalStateException("Column predict differs at row " + i + "!");
+            System.out.println("✔ predict from mapped columns");
+
+            // ===== 3️⃣ Typed columns (FLOAT / INT kept narrow, SKIP dropped) =====
+            CsvSchema typed = new CsvSchema(CsvSchema.Type.DOUBLE, CsvSchema.Type.FLOAT, CsvSchema.Type.SKIP,
+                    CsvSchema.Type.INT, CsvSchema.Type.DOUBLE).header(true).label(4);
+            ColumnTable table = FileUtils.read_csv_columns(csv.toString(), typed);
+            FileUtils.csv_to_neuronx(csv.toString(), typed, bin.toString(), 2);
+            mapped = FileUtils.read_neuronx(bin.toString());
+            if (mapped.type(1) != CsvSchema.Type.FLOAT || mapped.type(2) != CsvSchema.Type.INT || mapped.label() != 3)
+                throw new IllegalStateException("Column types or label lost!");
+            for (int i = 0; i < rows; i++) {
+                same("x1 row " + i, table.getDouble(0)[i], mapped.getDouble("x1").get(i));
+                if (Float.floatToIntBits(table.getFloat(1)[i]) != Float.floatToIntBits(mapped.getFloat("x2").get(i)))
+                    throw new IllegalStateException("x2 differs at row " + i + "!");
+                if (table.getInt(3)[i] != mapped.getInt("count").get(i))
+                    throw new IllegalStateException("count differs at row " + i + "!");
+                same("target row " + i, table.getDouble(4)[i], mapped.y().get(i));
+            }
+            System.out.println("✔ typed column round trip");
+
+            System.out.println("✅ NEURONX files read back exactly what was written");
+        } finally {
+            Files.deleteIfExists(csv);
+            Files.deleteIfExists(bin);
+        }
+    }
+
+    private static void same(String what, double expected, double actual) {
+        if (Double.doubleToLongBits(expected) != Double.doubleToLongBits(actual))
+            throw new IllegalStateException(what + ": expected " + expected + ", got " + actual + "!");
+    }
+}
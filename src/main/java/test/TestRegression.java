@@ -0,0 +1,183 @@
+package test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.file.*;
+import java.util.*;
+import java.util.stream.IntStream;
+import neuronx.supervised.regression.LinearRegression;
+import neuronx.supervised.regression.MultiLinearRegression;
+import neuronx.supervised.regression.SimpleLinearRegression;
+
+/**
+ * TestRegression - Checks the equivalences the regression models promise:
+ * - LinearRegression weights do not depend on parallelism, and match MultiLinearRegression
+ * - MultiLinearRegression streamed from a CSV file or a Stream matches fit(X, y)
+ * - a badly scaled column is solved exactly, collinear columns take the QR fallback
+ * - SGD / AdaGrad / Adam partialFit converge to the closed-form weights
+ * - SimpleLinearRegression partialFit and merge equal fit (at any parallelism)
+ * - flat-array, buffer and column predict equal row predict
+ * Throws on the first mismatch.
+ */
+public class TestRegression {
+
+    public static void main(String[] args) throws IOException {
+        Random random = new Random(31);
+        int n = 20_000, m = 3; // several 4096-row blocks for the parallel Gram accumulation
+        double[] beta = {2.0, 3.0, -1.0, 0.5};
+        double[][] X = new double[n][m];
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            y[i] = beta[0] + random.nextGaussian() * 0.1;
+            for (int j = 0; j < m; j++) {
+                X[i][j] = random.nextGaussian();
+                y[i] += beta[j + 1] * X[i][j];
+            }
+        }
+
+        // ===== 1️⃣ Serial vs parallel normal equations, LinearRegression vs MultiLinearRegression =====
+        LinearRegression serial = new LinearRegression();
+        serial.setParallelism(1);
+        serial.fit(X, y);
+        double[] w = serial.getWeights();
+        for (int parallelism : new int[]{2, 4}) {
+            LinearRegression parallel = new LinearRegression();
+            parallel.setParallelism(parallelism);
+            parallel.fit(X, y);
+            if (!Arrays.equals(w, parallel.getWeights()))
+                throw new IllegalStateException("Weights at parallelism " + parallelism + " differ from serial!");
+        }
+        for (int j = 0; j <= m; j++) close("β" + j + " vs truth", beta[j], w[j], 0.01);
+        System.out.println("✔ LinearRegression weights identical at parallelism 1, 2, 4");
+
+        MultiLinearRegression mlr = new MultiLinearRegression();
+        mlr.fit(X, y);
+        double[] reference = serial.predict(X);
+        same("MultiLinearRegression vs LinearRegression", reference, mlr.predict(X), 1e-12);
+
+        // ===== 2️⃣ Streaming fits =====
+        Path csv = Files.createTempFile("neuronx-regression", ".csv");
+        try {
+            StringBuilder sb = new StringBuilder("x1,x2,x3,y\n");
+            for (int i = 0; i < n; i++) sb.append(X[i][0]).append(',').append(X[i][1]).append(',').append(X[i][2]).append(',').append(y[i]).append('\n');
+            Files.writeString(csv, sb);
+            MultiLinearRegression fromCsv = new MultiLinearRegression();
+            fromCsv.fit(csv.toString());
+            same("CSV streaming fit", reference, fromCsv.predict(X), 1e-9);
+        } finally {
+            Files.deleteIfExists(csv);
+        }
+        MultiLinearRegression fromStream = new MultiLinearRegression();
+        fromStream.fit(IntStream.range(0, n).mapToObj(i -> new double[]{X[i][0], X[i][1], X[i][2], y[i]}));
+        same("Stream fit", reference, fromStream.predict(X), 1e-9);
+        System.out.println("✔ LinearRegression, MultiLinearRegression and streaming fits agree");
+
+        // ===== 3️⃣ Conditioning: a tiny-scale column, then an exactly collinear one =====
+        double[][] scaled = new double[n][];
+        for (int i = 0; i < n; i++) scaled[i] = new double[]{X[i][0], X[i][1] * 1e-4, X[i][2]};
+        LinearRegression tiny = new LinearRegression();
+        tiny.fit(scaled, y);
+        double[] ws = tiny.getWeights();
+        close("β2 of the 1e-4 column", w[2] * 1e4, ws[2], 1e-6 * Math.abs(w[2] * 1e4));
+        same("tiny-scale column", reference, tiny.predict(scaled), 1e-9);
+
+        double[][] collinear = new double[n][];
+        double[] exact = new double[n];
+        for (int i = 0; i < n; i++) {
+            collinear[i] = new double[]{X[i][0], 2 * X[i][0], X[i][1]};
+            exact[i] = 1 + 3 * X[i][0] - X[i][1];
+        }
+        LinearRegression qr = new LinearRegression();
+        qr.fit(collinear, exact);
+        for (double v : qr.getWeights()) if (!Double.isFinite(v)) throw new IllegalStateException("Collinear fit gave " + v + "!");
+        same("collinear fit", exact, qr.predict(collinear), 1e-9);
+        System.out.println("✔ badly scaled and collinear columns solved (" + Arrays.toString(qr.getWeights()) + ")");
+
+        // ===== 4️⃣ Mini-batch optimizers converge to the closed-form weights =====
+        Object[][] optimizers = {{LinearRegression.Optimizer.SGD, 0.05}, {LinearRegression.Optimizer.ADAGRAD, 0.5},
+                {LinearRegression.Optimizer.ADAM, 0.01}};
+        for (Object[] setting : optimizers) {
+            LinearRegression online = new LinearRegression();
+            online.setOptimizer((LinearRegression.Optimizer) setting[0], (Double) setting[1]);
+            int epochs = 0;
+            while (!online.isConverged() && epochs < 200) {
+                online.partialFit(X, y);
+                epochs++;
+            }
+            double[] wo = online.getWeights();
+            for (int j = 0; j <= m; j++) close(setting[0] + " β" + j, w[j], wo[j], 0.02);
+            System.out.printf("✔ %s converged in %d epochs (loss %.5f)%n", setting[0], epochs, online.getLoss());
+        }
+
+        // ===== 5️⃣ SimpleLinearRegression: partialFit and merge equal fit =====
+        double[] x1 = new double[n];
+        for (int i = 0; i < n; i++) x1[i] = X[i][0];
+        SimpleLinearRegression full = new SimpleLinearRegression();
+        full.setParallelism(1);
+        full.fit(x1, y);
+        SimpleLinearRegression fullParallel = new SimpleLinearRegression();
+        fullParallel.setParallelism(4);
+        fullParallel.fit(x1, y);
+        if (full.getSlope() != fullParallel.getSlope() || full.getIntercept() != fullParallel.getIntercept())
+            throw new IllegalStateException("SimpleLinearRegression fit depends on parallelism!");
+
+        SimpleLinearRegression chunks = new SimpleLinearRegression();
+        for (int from = 0; from < n; from += 3000) {
+            int to = Math.min(n, from + 3000);
+            chunks.partialFit(Arrays.copyOfRange(x1, from, to), Arrays.copyOfRange(y, from, to));
+        }
+        SimpleLinearRegression left = new SimpleLinearRegression(), right = new SimpleLinearRegression();
+        left.partialFit(Arrays.copyOfRange(x1, 0, 7000), Arrays.copyOfRange(y, 0, 7000));
+        right.partialFit(Arrays.copyOfRange(x1, 7000, n), Arrays.copyOfRange(y, 7000, n));
+        left.merge(right);
+        for (SimpleLinearRegression other : new SimpleLinearRegression[]{chunks, left}) {
+            if (other.getCount() != n) throw new IllegalStateException("Expected count " + n + ", got " + other.getCount() + "!");
+            close("slope", full.getSlope(), other.getSlope(), 1e-12);
+            close("intercept", full.getIntercept(), other.getIntercept(), 1e-12);
+        }
+        System.out.println("✔ SimpleLinearRegression partialFit and merge equal fit");
+
+        // ===== 6️⃣ Flat, buffer and column predict equal row predict =====
+        int stride = m + 2, offset = 3; // padded rows after a small prefix
+        double[] flat = new double[offset + n * stride];
+        DoubleBuffer[] columns = new DoubleBuffer[m];
+        for (int j = 0; j < m; j++) columns[j] = DoubleBuffer.allocate(n);
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < m; j++) {
+                flat[offset + i * stride + j] = X[i][j];
+                columns[j].put(i, X[i][j]);
+            }
+        }
+        DoubleBuffer direct = ByteBuffer.allocateDirect(8 * flat.length).asDoubleBuffer().put(flat);
+        direct.position(offset);
+        double[] out = new double[n + 1];
+        for (int parallelism : new int[]{1, 4}) {
+            serial.setParallelism(parallelism);
+            serial.predict(flat, offset, n, stride, out, 1);
+            same("flat predict", reference, Arrays.copyOfRange(out, 1, n + 1), 1e-12);
+            serial.predict(direct, n, stride, out);
+            same("direct buffer predict", reference, out, 1e-12);
+            serial.predict(DoubleBuffer.wrap(flat, offset, flat.length - offset).slice(), n, stride, out);
+            same("heap buffer predict", reference, out, 1e-12);
+            serial.predict(columns, n, out);
+            same("column predict", reference, out, 1e-12);
+            mlr.setParallelism(parallelism);
+            mlr.predict(columns, n, out);
+            same("MultiLinearRegression column predict", reference, out, 1e-12);
+        }
+        System.out.println("✔ flat, buffer and column predict equal row predict");
+
+        System.out.println("✅ Regression models agree with each other");
+    }
+
+    private static void close(String what, double expected, double actual, double tol) {
+        if (!(Math.abs(expected - actual) <= tol))
+            throw new IllegalStateException(what + ": expected " + expected + ", got " + actual + "!");
+    }
+
+    private static void same(String what, double[] expected, double[] actual, double relTol) {
+        for (int i = 0; i < expected.length; i++)
+            close(what + " [" + i + "]", expected[i], actual[i], relTol * Math.max(1.0, Math.abs(expected[i])));
+    }
+}
@@ -0,0 +1,69 @@
+package test;
+
+import java.util.*;
+import neuronx.supervised.regression.RidgeRegression;
+
+/**
+ * TestRidgeRegression - Checks RidgeRegression.fitPath against brute force: every coefficient
+ * vector of the path equals a separate fit at that alpha, and every closed-form LOO error equals
+ * the mean squared error of n refits that each leave one row out. Throws on the first mismatch.
+ */
+public class TestRidgeRegression {
+
+    public static void main(String[] args) {
+        Random random = new Random(5);
+        int n = 60, m = 4;
+        double[][] X = new double[n][m];
+        double[] y = new double[n];
+        double[] beta = {3.0, -1.5, 0.0, 2.0};
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < m; j++) X[i][j] = random.nextGaussian() * (j + 1);
+            X[i][2] = X[i][0] * 0.9 + random.nextGaussian() * 0.1; // nearly collinear pair
+            y[i] = 4.0 + random.nextGaussian();
+            for (int j = 0; j < m; j++) y[i] += beta[j] * X[i][j];
+        }
+
+        double[] alphas = RidgeRegression.logspace(-3, 2, 6);
+        RidgeRegression path = new RidgeRegression();
+        path.fitPath(X, y, alphas);
+        double[][] coefs = path.getCoefPath();
+        double[] loo = path.getLooErrors();
+
+        for (int a = 0; a < alphas.length; a++) {
+            // ===== 1️⃣ Path coefficients = a plain fit at that alpha =====
+            RidgeRegression single = new RidgeRegression(alphas[a]);
+            single.fit(X, y);
+            double[] w = single.getWeights();
+            for (int j = 0; j <= m; j++) check("alpha " + alphas[a] + " β" + j, w[j], coefs[a][j]);
+
+            // ===== 2️⃣ Closed-form LOO = n refits without row i =====
+            double sse = 0;
+            for (int i = 0; i < n; i++) {
+                double[][] Xi = new double[n - 1][];
+                double[] yi = new double[n - 1];
+                for (int r = 0, k = 0; r < n; r++) {
+                    if (r == i) continue;
+                    Xi[k] = X[r];
+                    yi[k++] = y[r];
+                }
+                RidgeRegression refit = new RidgeRegression(alphas[a]);
+                refit.fit(Xi, yi);
+                double residual = y[i] - refit.predict(X[i]);
+                sse += residual * residual;
+            }
+            check("alpha " + alphas[a] + " LOO error", sse / n, loo[a]);
+            System.out.printf("✔ alpha %-8.3g LOO MSE %.6f%n", alphas[a], loo[a]);
+        }
+
+        int best = 0;
+        for (int a = 1; a < alphas.length; a++) if (loo[a] < loo[best]) best = a;
+        if (path.getAlpha() != alphas[best])
+            throw new IllegalStateException("fitPath kept alpha " + path.getAlpha() + ", best is " + alphas[best] + "!");
+        System.out.println("✅ Ridge path and LOO errors match brute-force refits (best alpha " + path.getAlpha() + ")");
+    }
+
+    private static void check(String what, double expected, double actual) {
+        if (Math.abs(expected - actual) > 1e-8 * Math.max(1.0, Math.abs(expected)))
+            throw new IllegalStateException(what + ": expected " + expected + ", got " + actual + "!");
+    }
+}